@@ -23,5 +23,7 @@ public class JwtConfig {
     private int access_expiration;
     @Value("${security.jwt.refresh_token_expiration}")
     private int refresh_expiration;
+    @Value("${security.jwt.stateless:false}")
+    private boolean stateless;
 
 }
\ No newline at end of file
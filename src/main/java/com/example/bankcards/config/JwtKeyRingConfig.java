@@ -0,0 +1,45 @@
+package com.example.bankcards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.jwt.key-ring")
+public class JwtKeyRingConfig {
+
+    /** Key used to sign new access tokens; the legacy access_secret is used when empty. */
+    private String activeKid;
+
+    /**
+     * While a key ring key is active, tokens without a kid are still accepted with the legacy
+     * access_secret until this instant, e.g. the rotation time plus the access token lifetime.
+     * Unset means they are rejected as soon as a key is active.
+     */
+    private Instant legacyAcceptedUntil;
+
+    private List<Key> keys = new ArrayList<>();
+
+    @Data
+    public static class Key {
+
+        private String kid;
+
+        /** HS256 or ES256. */
+        private String algorithm = "HS256";
+
+        /** Base64 HMAC secret for HS256. */
+        private String secret;
+
+        /** Base64 PKCS#8 private key for ES256; only needed on the signing key. */
+        private String privateKey;
+
+        /** Base64 X.509 public key for ES256. */
+        private String publicKey;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.bankcards.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.rate-limit")
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+
+        private String path;
+
+        /** JSON body field holding the principal, e.g. {@code username}. */
+        private String principalField;
+
+        /**
+         * Request parameter holding a refresh token, e.g. {@code refreshToken}; the principal is the
+         * subject of the token if it verifies. Tokens are single-use, so keying on the token itself
+         * would give every request a fresh bucket.
+         */
+        private String refreshTokenParameter;
+
+        private Limit principal;
+
+        private Limit ip;
+    }
+
+    @Data
+    public static class Limit {
+
+        private int capacity;
+
+        private Duration refillPeriod;
+    }
+}
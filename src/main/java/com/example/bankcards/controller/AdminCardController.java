@@ -1,32 +1,47 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.request.CardIssueRequest;
+import com.example.bankcards.dto.request.CardStatusChangeRequest;
 import com.example.bankcards.dto.request.CardTypeRequest;
 import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.CardStatusChangeResponse;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.service.card.CardService;
+import com.example.bankcards.service.export.ExportFormat;
+import com.example.bankcards.service.export.ExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @Validated
 @Slf4j
 @RequestMapping("v1/api/admin/cards")
-@PreAuthorize("hasRole('ADMIN')")
+@PreAuthorize("hasAuthority('ADMIN')")
 public class AdminCardController {
     private final CardService cardService;
+    private final ExportService exportService;
 
     @Operation(
             summary = "Created a new card",
@@ -49,6 +64,24 @@ public class AdminCardController {
         return cardService.create(ownerId, cardTypeRequest);
     }
 
+    @Operation(
+            summary = "Issue cards in bulk",
+            description = "Creates up to 10000 cards in one request",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Cards successfully created"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "404", description = "Owner not found"),
+                    @ApiResponse(responseCode = "422", description = "Not enough card numbers left for a card type")
+            }
+    )
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<CardResponse> createCards(@RequestBody @NotEmpty @Size(max = 10000)
+                                          List<@Valid CardIssueRequest> cardIssueRequests) {
+        log.info("Creating {} cards", cardIssueRequests.size());
+        return cardService.createAll(cardIssueRequests);
+    }
+
     @Operation(
             summary = "Set card status",
             description = "Change the status of a card",
@@ -65,6 +98,22 @@ public class AdminCardController {
         return cardService.changeStatus(cardId, cardStatus);
     }
 
+    @Operation(
+            summary = "Set status of many cards",
+            description = "Changes the status of the given card IDs, or of every non-deleted card matching the "
+                    + "filter, and returns how many cards changed from each previous status",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Card statuses successfully updated"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request")
+            }
+    )
+    @PostMapping("/status/update")
+    @ResponseStatus(HttpStatus.OK)
+    public CardStatusChangeResponse changeCardStatuses(@RequestBody @Valid CardStatusChangeRequest cardStatusChangeRequest) {
+        log.info("Changing status of many cards");
+        return cardService.changeStatuses(cardStatusChangeRequest);
+    }
+
     @Operation(
             summary = "Deleted card by ID",
             description = "Deleted cart by ID",
@@ -130,4 +179,52 @@ public class AdminCardController {
         CardFilter  cardFilter = new CardFilter(offset, limit);
         return cardService.getAllCards(cardFilter);
     }
+
+    @Operation(
+            summary = "Search cards",
+            description = "Returns a paginated list of non-deleted cards matching every given filter: status, "
+                    + "card type, expiry range, balance range, owner and last four digits",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Matching cards returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter")
+            }
+    )
+    @GetMapping("/search")
+    @ResponseStatus(HttpStatus.OK)
+    public Page<CardResponse> searchCards(@Valid CardFilter cardFilter) {
+        log.info("Searching cards");
+        return cardService.searchCards(cardFilter);
+    }
+
+    @Operation(
+            summary = "Get cards by cursor",
+            description = "Returns cards after the given cursor, ordered by ID, without a total count. "
+                    + "Pass an empty cursor for the first page and nextCursor for the following ones",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Card page returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            }
+    )
+    @GetMapping(value = "/get", params = "cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<CardResponse> getAllCardsByCursor(@RequestParam String cursor,
+                                                        @RequestParam(defaultValue = "10", required = false) @Positive @Max(100) Integer limit) {
+        log.info("Retrieving cards by cursor");
+        return cardService.getAllCardsByCursor(new CardFilter(null, limit, cursor));
+    }
+
+    @Operation(
+            summary = "Export cards",
+            description = "Streams every card ordered by ID as CSV or NDJSON, gzipped when the client sends "
+                    + "Accept-Encoding: gzip",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCards(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exporting cards as {}", format);
+        return ExportResponses.attachment("cards", format, acceptEncoding, out -> exportService.exportCards(format, out));
+    }
 }
\ No newline at end of file
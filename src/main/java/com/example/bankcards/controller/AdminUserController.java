@@ -2,8 +2,11 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.filter.UserFilter;
 import com.example.bankcards.dto.request.RegistrationRequestDto;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.service.authentication.AuthenticationService;
+import com.example.bankcards.service.export.ExportFormat;
+import com.example.bankcards.service.export.ExportService;
 import com.example.bankcards.service.user.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,20 +19,24 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
 @Validated
 @Slf4j
 @RequestMapping("v1/api/admin/user")
-@PreAuthorize("hasRole('ADMIN')")
+@PreAuthorize("hasAuthority('ADMIN')")
 public class AdminUserController {
     private final UserService userService;
     private final AuthenticationService authenticationService;
+    private final ExportService exportService;
 
     @Operation(
             summary = "create user",
@@ -97,4 +104,36 @@ public class AdminUserController {
         UserFilter userFilter = new UserFilter(offset, limit);
         return userService.getAllUsers(userFilter);
     }
+
+    @Operation(
+            summary = "Get users by cursor",
+            description = "Returns users after the given cursor, ordered by ID, without a total count. "
+                    + "Pass an empty cursor for the first page and nextCursor for the following ones",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "User page returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            }
+    )
+    @GetMapping(value = "/get", params = "cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<UserResponse> allUsersByCursor(@RequestParam String cursor,
+                                                     @RequestParam(defaultValue = "10", required = false) @Positive @Max(50) Integer limit) {
+        log.info("Get users by cursor");
+        return userService.getAllUsersByCursor(new UserFilter(null, limit, cursor));
+    }
+
+    @Operation(
+            summary = "Export users",
+            description = "Streams every user ordered by ID as CSV or NDJSON, gzipped when the client sends "
+                    + "Accept-Encoding: gzip",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export streamed successfully")
+            }
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("Exporting users as {}", format);
+        return ExportResponses.attachment("users", format, acceptEncoding, out -> exportService.exportUsers(format, out));
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.example.bankcards.dto.request.RegistrationRequestDto;
 import com.example.bankcards.dto.response.TokenResponse;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.service.authentication.AuthenticationService;
+import com.example.bankcards.service.jwt.VerifiedToken;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,6 +17,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -80,8 +82,11 @@ public class AuthenticationController {
             }
     )
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(Authentication authentication) {
         log.info("Logout user");
+        if (authentication != null && authentication.getCredentials() instanceof VerifiedToken accessToken) {
+            authenticationService.logout(accessToken);
+        }
         ResponseCookie cookie = ResponseCookie.from("refresh_token", "")
                 .httpOnly(true)
                 .path("/v1/api/auth/refresh_token")
@@ -4,6 +4,7 @@ import com.example.bankcards.dto.filter.CardFilter;
 import com.example.bankcards.dto.request.CardTypeRequest;
 import com.example.bankcards.dto.response.BalanceResponse;
 import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.dto.response.TransferResponse;
 import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.service.card.CardService;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -27,7 +29,7 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 @Slf4j
 @RequestMapping("v1/api/user/cards")
-@PreAuthorize("hasRole('USER')")
+@PreAuthorize("hasAuthority('USER')")
 public class UserCardController {
     private final CardService cardService;
     private final TransferService transferService;
@@ -92,7 +94,7 @@ public class UserCardController {
     @GetMapping("/get/{cardId}")
     @ResponseStatus(HttpStatus.OK)
     public CardResponse findCardById(@PathVariable("cardId") Long cardId){
-        return cardService.findCardById(cardId);
+        return cardService.findOwnCardById(cardId);
     }
 
     @Operation(
@@ -106,7 +108,7 @@ public class UserCardController {
     @PutMapping("/request-block/{cardId}")
     @ResponseStatus(HttpStatus.OK)
     public CardResponse blockCard(@PathVariable("cardId") Long cardId){
-        return cardService.blockCard(cardId);
+        return cardService.blockOwnCard(cardId);
     }
 
     @Operation(
@@ -138,8 +140,8 @@ public class UserCardController {
     }
 
     @Operation(
-            summary = "Get cards with filters",
-            description = "Returns a paginated list of cards filtered by various criteria",
+            summary = "Get own cards",
+            description = "Returns a paginated list of the authenticated user's cards",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Search request with filter conditions",
                     required = true,
@@ -154,7 +156,23 @@ public class UserCardController {
     public Page<CardResponse> getCards(@RequestParam(defaultValue = "0", required = false) Integer offset,
                                        @RequestParam(defaultValue = "10", required = false) @Max(50) Integer limit){
         CardFilter cardFilter = new CardFilter(offset, limit);
-        return cardService.getAllCards(cardFilter);
+        return cardService.getOwnCards(cardFilter);
+    }
+
+    @Operation(
+            summary = "Get own cards by cursor",
+            description = "Returns the authenticated user's cards after the given cursor, ordered by ID, without a total count. "
+                    + "Pass an empty cursor for the first page and nextCursor for the following ones",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Card page returned successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+            }
+    )
+    @GetMapping(value = "/get", params = "cursor")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<CardResponse> getCardsByCursor(@RequestParam String cursor,
+                                                     @RequestParam(defaultValue = "10", required = false) @Positive @Max(50) Integer limit) {
+        return cardService.getOwnCardsByCursor(new CardFilter(null, limit, cursor));
     }
 
     @Operation(
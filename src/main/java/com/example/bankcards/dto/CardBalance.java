@@ -0,0 +1,23 @@
+package com.example.bankcards.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * A card's balance as of {@code version}, with its owner so the balance can be authorized without
+ * loading the card.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class CardBalance {
+
+    private final long ownerId;
+
+    private final BigDecimal balance;
+
+    private final long version;
+}
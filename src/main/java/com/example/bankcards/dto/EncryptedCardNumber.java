@@ -17,4 +17,6 @@ public class EncryptedCardNumber {
 
     @NotNull
     private String cardMask;
+
+    private String cardNumberHash;
 }
\ No newline at end of file
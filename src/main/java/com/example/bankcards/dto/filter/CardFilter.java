@@ -1,11 +1,54 @@
 package com.example.bankcards.dto.filter;
 
-import lombok.AllArgsConstructor;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
-@AllArgsConstructor
+@NoArgsConstructor
 public class CardFilter {
-    private Integer offset;
-    private Integer limit;
-}
\ No newline at end of file
+    @Min(0)
+    private Integer offset = 0;
+    @Min(1)
+    @Max(100)
+    private Integer limit = 10;
+    private String cursor;
+
+    private CardStatus status;
+    private CardType cardType;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime expiresFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime expiresTo;
+    private BigDecimal minBalance;
+    private BigDecimal maxBalance;
+    private Long ownerId;
+    @Pattern(regexp = "\\d{4}")
+    private String lastFour;
+
+    public CardFilter(Integer offset, Integer limit) {
+        this(offset, limit, null);
+    }
+
+    public CardFilter(Integer offset, Integer limit, String cursor) {
+        this.offset = offset;
+        this.limit = limit;
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return whether any field narrows the matching cards; paging fields do not count
+     */
+    public boolean hasPredicate() {
+        return status != null || cardType != null || expiresFrom != null || expiresTo != null
+                || minBalance != null || maxBalance != null || ownerId != null || lastFour != null;
+    }
+}
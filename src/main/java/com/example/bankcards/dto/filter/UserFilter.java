@@ -8,4 +8,9 @@ import lombok.Data;
 public class UserFilter {
     private Integer offset;
     private Integer limit;
+    private String cursor;
+
+    public UserFilter(Integer offset, Integer limit) {
+        this(offset, limit, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.bankcards.dto.request;
+
+import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.entity.enums.CardStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Target status for either an explicit list of card IDs or every non-deleted card matching a
+ * filter; exactly one of the two must be given, and a filter must narrow the cards somehow.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CardStatusChangeRequest {
+
+    @NotNull
+    private CardStatus status;
+
+    @Size(max = 100000)
+    private List<Long> cardIds;
+
+    @Valid
+    private CardFilter filter;
+
+    @AssertTrue(message = "Either cardIds or filter must be given, not both")
+    public boolean isTargetValid() {
+        boolean hasIds = cardIds != null && !cardIds.isEmpty();
+        return hasIds != (filter != null);
+    }
+
+    @AssertTrue(message = "filter must set at least one criterion")
+    public boolean isFilterNarrowing() {
+        return filter == null || filter.hasPredicate();
+    }
+}
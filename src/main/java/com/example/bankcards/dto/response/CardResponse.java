@@ -1,6 +1,7 @@
 package com.example.bankcards.dto.response;
 
 import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
@@ -31,4 +32,13 @@ public class CardResponse {
     @DecimalMin(value = "0.00")
     @Builder.Default
     private BigDecimal balance = BigDecimal.ZERO;
+
+    /**
+     * Constructor expression target for projection queries, which read the stored mask and the
+     * owner's foreign key instead of loading {@code Card} and {@code User}.
+     */
+    public CardResponse(long id, CardType cardType, String cardNumber, Long ownerId, LocalDateTime expirationDate,
+                        boolean isDeleted, CardStatus cardStatus, BigDecimal balance) {
+        this(id, cardType.getTypeCode(), cardNumber, ownerId, expirationDate, isDeleted, cardStatus, balance);
+    }
 }
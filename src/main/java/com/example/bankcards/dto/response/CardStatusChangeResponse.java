@@ -0,0 +1,24 @@
+package com.example.bankcards.dto.response;
+
+import com.example.bankcards.entity.enums.CardStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Result of a bulk status change: how many cards were moved to {@code status}, broken down by the
+ * status each one had before. Cards already in the target status are not counted.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CardStatusChangeResponse {
+
+    private CardStatus status;
+
+    private long updated;
+
+    private Map<CardStatus, Long> previousStatuses;
+}
@@ -0,0 +1,40 @@
+package com.example.bankcards.dto.response;
+
+import com.example.bankcards.util.Cursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A page of a keyset listing. {@code nextCursor} is null on the last page; there is no total,
+ * since counting would cost as much as the scan the cursor avoids.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only tells
+     * whether another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, ToLongFunction<E> id, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        List<T> content = new ArrayList<>(pageRows.size());
+        for (E row : pageRows) {
+            content.add(mapper.apply(row));
+        }
+        String nextCursor = hasNext ? Cursor.encode(id.applyAsLong(pageRows.get(limit - 1))) : null;
+        return new CursorPage<>(content, nextCursor);
+    }
+}
@@ -16,17 +16,31 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "cards")
+@Table(name = "cards", indexes = @Index(name = "idx_cards_owner_deleted_status", columnList = "owner_id, deleted, status"))
 public class Card {
 
+    /**
+     * Ids are taken from {@code cards_seq} fifty at a time, so inserts need no round trip for the
+     * key and Hibernate can batch them.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_seq")
+    @SequenceGenerator(name = "cards_seq", sequenceName = "cards_seq", allocationSize = 50)
     private long id;
 
-    @Column(name = "number", nullable = false)
-    private String cardNumber;
+    @Column(name = "number_encrypted", nullable = false)
+    private String encryptedCardNumber;
 
-    @ManyToOne
+    @Column(name = "number_hash", nullable = false, unique = true, length = 64)
+    private String cardNumberHash;
+
+    @Column(name = "number_mask", nullable = false, length = 32)
+    private String cardMask;
+
+    @Column(name = "number_last4", nullable = false, length = 4)
+    private String lastFour;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     @NotNull
     private User owner;
@@ -53,4 +67,8 @@ public class Card {
     @NotNull
     @DecimalMin(value = "0.00")
     private BigDecimal balance = BigDecimal.valueOf(0.00);
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.bankcards.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * High-water mark of the card number sequence handed out for one BIN.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "card_number_blocks")
+public class CardNumberBlock {
+
+    @Id
+    @Column(name = "block_key", length = 32)
+    private String blockKey;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
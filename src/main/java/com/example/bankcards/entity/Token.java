@@ -2,22 +2,52 @@ package com.example.bankcards.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@Builder
 @ToString
-@Table(name = "tokens")
+@Table(name = "tokens", indexes = {
+        @Index(name = "idx_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_tokens_expires_at", columnList = "expires_at")
+})
 public class Token {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private String username;
+    private long id;
 
-    @Column(name = "refresh_token", nullable = false, unique = true, length = 255)
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
     @NotBlank
-    private String token;
-}
\ No newline at end of file
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    @NotNull
+    private UUID familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    @NotNull
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used", nullable = false)
+    private boolean used;
+
+    @Column(name = "revoked", nullable = false)
+    private boolean revoked;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
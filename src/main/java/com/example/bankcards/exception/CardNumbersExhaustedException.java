@@ -0,0 +1,7 @@
+package com.example.bankcards.exception;
+
+public class CardNumbersExhaustedException extends RuntimeException {
+    public CardNumbersExhaustedException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -2,8 +2,12 @@ package com.example.bankcards.exception;
 
 import com.example.bankcards.dto.response.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -44,6 +48,13 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(e, request);
     }
 
+    @ExceptionHandler(AccessDeniedException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ErrorResponse handleAccessDeniedException(AccessDeniedException e, HttpServletRequest request) {
+        log.warn("Access denied: {}", e.getMessage());
+        return buildErrorResponse(e, request);
+    }
+
     @ExceptionHandler(CardNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleCardNotFoundException(CardNotFoundException e, HttpServletRequest request) {
@@ -72,6 +83,39 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(e, request);
     }
 
+    @ExceptionHandler(CardNumbersExhaustedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ErrorResponse handleCardNumbersExhaustedException(CardNumbersExhaustedException e,
+                                                             HttpServletRequest request) {
+        log.error("Card numbers exhausted: {}", e.getMessage());
+        return buildErrorResponse(e, request);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(OptimisticLockingFailureException e,
+                                                                 HttpServletRequest request) {
+        log.error("Concurrent update: {}", e.getMessage(), e);
+        return buildErrorResponse(e, request);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidCursorException(InvalidCursorException e, HttpServletRequest request) {
+        log.warn("Invalid cursor: {}", e.getMessage());
+        return buildErrorResponse(e, request);
+    }
+
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handlePasswordHashingUnavailableException(PasswordHashingUnavailableException e,
+                                                                   HttpServletRequest request,
+                                                                   HttpServletResponse response) {
+        log.warn("Password hashing unavailable: {}", e.getMessage());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return buildErrorResponse(e, request);
+    }
+
     private ErrorResponse buildErrorResponse(Exception e, HttpServletRequest request) {
         return ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -0,0 +1,23 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.entity.CardNumberBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CardNumberBlockRepository extends JpaRepository<CardNumberBlock, String> {
+
+    /**
+     * Reserves {@code size} sequence values for the key and returns the new high-water mark; the
+     * reserved range is {@code [result - size, result)}. Commits on its own so that a rolled back
+     * card insert never returns a range another node may already be using.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO card_number_blocks (block_key, next_value) VALUES (:blockKey, :size) " +
+            "ON CONFLICT (block_key) DO UPDATE SET next_value = card_number_blocks.next_value + :size " +
+            "RETURNING next_value", nativeQuery = true)
+    long reserve(String blockKey, int size);
+}
@@ -1,24 +1,103 @@
 package com.example.bankcards.repository;
 
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.CardBalance;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.enums.CardStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, JpaSpecificationExecutor<Card> {
+
+    String CARD_RESPONSE = "SELECT new com.example.bankcards.dto.response.CardResponse("
+            + "c.id, c.cardType, c.cardMask, c.owner.id, c.expirationDate, c.isDeleted, c.cardStatus, c.balance) "
+            + "FROM Card c ";
+
+    @Query(CARD_RESPONSE + "WHERE c.id = :id")
+    Optional<CardResponse> findResponseById(long id);
+
+    /**
+     * The card as seen by its owner: one primary key lookup that also checks ownership, so a card
+     * of another user is indistinguishable from a missing one.
+     */
+    @Query(CARD_RESPONSE + "WHERE c.id = :id AND c.owner.id = :ownerId")
+    Optional<CardResponse> findOwnCardById(long id, long ownerId);
+
+    /**
+     * Blocks the card if it is active. The status check is part of the statement, so a
+     * concurrent status change is never overwritten; 0 means the card is missing or not active.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Card c SET c.cardStatus = com.example.bankcards.entity.enums.CardStatus.BLOCKED, c.version = c.version + 1 "
+            + "WHERE c.id = :id AND c.cardStatus = com.example.bankcards.entity.enums.CardStatus.ACTIVE")
+    int blockIfActive(long id);
+
+    /**
+     * {@link #blockIfActive(long)} for the card's owner; another user's card is not updated.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Card c SET c.cardStatus = com.example.bankcards.entity.enums.CardStatus.BLOCKED, c.version = c.version + 1 "
+            + "WHERE c.id = :id AND c.owner.id = :ownerId AND c.cardStatus = com.example.bankcards.entity.enums.CardStatus.ACTIVE")
+    int blockOwnIfActive(long id, long ownerId);
+
+    @Query("SELECT new com.example.bankcards.dto.CardBalance(c.owner.id, c.balance, c.version) "
+            + "FROM Card c WHERE c.id = :id")
+    Optional<CardBalance> findBalanceById(long id);
 
     @Query("SELECT c.id FROM Card c WHERE c.cardStatus = :cardStatus")
     Optional<Card> findByCardStatus(CardStatus cardStatus);
 
-    @Query("SELECT c.id FROM Card c WHERE c.cardNumber = :encryptedCardNumber")
-    Optional<Card> findIdByEncryptedCardNumber(String encryptedCardNumber);
+    @Query("SELECT c.id FROM Card c WHERE c.cardNumberHash = :cardNumberHash")
+    Optional<Long> findIdByCardNumberHash(String cardNumberHash);
 
     @Query("SELECT c.id FROM Card c WHERE c.expirationDate = :expirationDate")
     Optional<Card> findByCardExpirationDate(LocalDateTime expirationDate);
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE cards SET status = 'EXPIRED', version = version + 1 WHERE id IN ("
+            + "SELECT id FROM cards WHERE expiration < :now AND status <> 'EXPIRED' "
+            + "LIMIT :batchSize FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    int expireBatch(LocalDateTime now, int batchSize);
+
+    /**
+     * Moves the given non-deleted cards to {@code status} in one statement and returns
+     * {@code (previous status, count)} rows for the cards that actually changed. Rows are locked in
+     * id order so concurrent bulk changes over overlapping ids cannot deadlock.
+     */
+    @Transactional
+    @Query(value = "WITH locked AS ("
+            + "SELECT id, status FROM cards WHERE id IN (:ids) AND status <> :status AND NOT deleted "
+            + "ORDER BY id FOR UPDATE), "
+            + "changed AS (UPDATE cards c SET status = :status, version = c.version + 1 FROM locked "
+            + "WHERE c.id = locked.id "
+            + "RETURNING locked.status AS previous) "
+            + "SELECT previous, count(*) FROM changed GROUP BY previous", nativeQuery = true)
+    List<Object[]> changeStatuses(Collection<Long> ids, String status);
+
+    @Query("SELECT c FROM Card c WHERE c.id > :afterId ORDER BY c.id")
+    List<Card> findPageAfter(long afterId, Limit limit);
+
+    @Query(value = CARD_RESPONSE + "WHERE c.owner.id = :ownerId AND c.isDeleted = false ORDER BY c.id",
+            countQuery = "SELECT count(c) FROM Card c WHERE c.owner.id = :ownerId AND c.isDeleted = false")
+    Page<CardResponse> findOwnCards(long ownerId, Pageable pageable);
+
+    @Query(CARD_RESPONSE + "WHERE c.owner.id = :ownerId AND c.isDeleted = false AND c.id > :afterId ORDER BY c.id")
+    List<CardResponse> findOwnCardsAfter(long ownerId, long afterId, Limit limit);
+
 }
\ No newline at end of file
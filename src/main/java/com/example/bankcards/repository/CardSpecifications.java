@@ -0,0 +1,52 @@
+package com.example.bankcards.repository;
+
+import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.entity.Card;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admin card search. Every predicate targets a column covered by an index on non-deleted cards
+ * (V7, V8), and {@code deleted = false} is always rendered as a literal so the planner can match
+ * the partial indexes.
+ */
+public final class CardSpecifications {
+
+    private CardSpecifications() {
+    }
+
+    public static Specification<Card> matching(CardFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isFalse(root.get("isDeleted")));
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("cardStatus"), filter.getStatus()));
+            }
+            if (filter.getCardType() != null) {
+                predicates.add(cb.equal(root.get("cardType"), filter.getCardType()));
+            }
+            if (filter.getExpiresFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("expirationDate"), filter.getExpiresFrom()));
+            }
+            if (filter.getExpiresTo() != null) {
+                predicates.add(cb.lessThan(root.get("expirationDate"), filter.getExpiresTo()));
+            }
+            if (filter.getMinBalance() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("balance"), filter.getMinBalance()));
+            }
+            if (filter.getMaxBalance() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("balance"), filter.getMaxBalance()));
+            }
+            if (filter.getOwnerId() != null) {
+                predicates.add(cb.equal(root.get("owner").get("id"), filter.getOwnerId()));
+            }
+            if (filter.getLastFour() != null) {
+                predicates.add(cb.equal(root.get("lastFour"), filter.getLastFour()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,9 +1,32 @@
 package com.example.bankcards.repository;
 
 import com.example.bankcards.entity.Token;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface TokenRepository extends CrudRepository<Token, Long> {
-}
\ No newline at end of file
+
+    Optional<Token> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("UPDATE Token t SET t.used = true WHERE t.id = :id AND t.used = false AND t.revoked = false")
+    int markUsed(long id);
+
+    @Modifying
+    @Query("UPDATE Token t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(UUID familyId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM tokens WHERE id IN (SELECT id FROM tokens WHERE expires_at < :now LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(LocalDateTime now, int batchSize);
+}
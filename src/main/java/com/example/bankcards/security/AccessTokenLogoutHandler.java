@@ -0,0 +1,32 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.JwtConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.logout.LogoutHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revokes the bearer token of a {@code /logout} request. The logout filter runs before
+ * {@link JwtFilter}, so the token is read from the header rather than from the security context.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessTokenLogoutHandler implements LogoutHandler {
+
+    private final JwtConfig jwtConfig;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+
+    @Override
+    public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        String authHeader = request.getHeader(jwtConfig.getHeader());
+        if (authHeader == null || !authHeader.startsWith(jwtConfig.getPrefix())) {
+            return;
+        }
+        verifiedTokenCache.verify(authHeader.substring(jwtConfig.getPrefix().length()).trim())
+                .ifPresent(accessTokenRevocationList::revoke);
+    }
+}
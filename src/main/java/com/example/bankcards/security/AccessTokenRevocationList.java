@@ -0,0 +1,120 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.RevokedAccessToken;
+import com.example.bankcards.repository.RevokedAccessTokenRepository;
+import com.example.bankcards.service.invalidation.InvalidationChannel;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access token ids ({@code jti}). A Bloom filter answers the common "not revoked" case
+ * without touching the exact map; the map keeps each id only until its token would have expired
+ * anyway. Revocations are broadcast to other nodes over the {@link InvalidationChannel} and stored
+ * with their expiry in {@code revoked_access_tokens}, from which a starting node reloads them.
+ */
+@Component
+@Slf4j
+public class AccessTokenRevocationList {
+
+    static final String TOPIC = "access_token_revoked";
+
+    private final InvalidationChannel invalidationChannel;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    public AccessTokenRevocationList(InvalidationChannel invalidationChannel,
+                                     RevokedAccessTokenRepository revokedAccessTokenRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${security.jwt.revocation.expected-insertions:100000}") long expectedInsertions,
+                                     @Value("${security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.invalidationChannel = invalidationChannel;
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+        Gauge.builder("jwt.revoked-tokens", revoked, Map::size)
+                .description("Revoked access tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationChannel.subscribe(TOPIC, payload -> {
+            int separator = payload.lastIndexOf(':');
+            add(payload.substring(0, separator), Long.parseLong(payload.substring(separator + 1)));
+        });
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.getId() == null) {
+            return;
+        }
+        long expiresAt = token.getExpiration().toEpochMilli();
+        if (add(token.getId(), expiresAt)) {
+            log.debug("Revoked access token {} of user {}", token.getId(), token.getSubject());
+            revokedAccessTokenRepository.save(new RevokedAccessToken(token.getId(),
+                    LocalDateTime.ofInstant(token.getExpiration(), ZoneId.systemDefault())));
+            invalidationChannel.publish(TOPIC, token.getId() + ":" + expiresAt);
+        }
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String id = token.getId();
+        return id != null && filter.mightContain(id) && revoked.containsKey(id);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        revokedAccessTokenRepository.findByExpiresAtAfter(LocalDateTime.now()).forEach(token ->
+                add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        log.debug("Loaded {} revoked access tokens", revoked.size());
+    }
+
+    /**
+     * Drops expired ids, here and in the table, and rebuilds the filter so that its false positive
+     * rate does not grow with every revocation ever made. Ids added while the new filter is being filled went into the old
+     * one, so they are copied over again after the swap.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.rebuild-interval:PT5M}")
+    public void rebuild() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedAccessTokenRepository.deleteExpired(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2L), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        revoked.keySet().forEach(rebuilt::add);
+        log.debug("Rebuilt access token revocation filter with {} entries", revoked.size());
+    }
+
+    private boolean add(String id, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return false;
+        }
+        boolean added = revoked.putIfAbsent(id, expiresAt) == null;
+        filter.add(id);
+        return added;
+    }
+}
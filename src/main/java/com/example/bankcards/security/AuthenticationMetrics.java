@@ -0,0 +1,74 @@
+package com.example.bankcards.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-registered meters for the authentication path, so that recording on every request is a
+ * field read and an atomic add rather than a registry lookup.
+ */
+@Component
+public class AuthenticationMetrics {
+
+    public enum Stage {
+        HEADER, VERIFY, REVOCATION, USER_RESOLUTION, CONTEXT
+    }
+
+    public enum Outcome {
+        NO_TOKEN, INVALID, REVOKED, REJECTED_USER, AUTHENTICATED
+    }
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+    private final MeterRegistry meterRegistry;
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("security.jwt.filter.stage")
+                    .description("Time spent in each stage of JWT request authentication")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("security.jwt.filter.requests")
+                    .description("Requests seen by the JWT filter, by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Records the time since {@code startNanos} against the stage and returns the current time,
+     * so consecutive stages can be chained.
+     */
+    public long record(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void count(Outcome outcome) {
+        outcomeCounters.get(outcome).increment();
+    }
+
+    public Timer passwordCheckTimer(String outcome) {
+        return Timer.builder("security.authentication.password-check")
+                .description("Time spent verifying a password in DaoAuthenticationProvider")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public Timer authenticationTimer() {
+        return Timer.builder("security.authentication.duration")
+                .description("Time spent in DaoAuthenticationProvider, user lookup included")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded pool, which caps how many hashes
+ * run at once and how many may wait. The calling thread still blocks until its hash is done; the
+ * bound only keeps a burst of logins from running unlimited hashes in parallel. When the queue is
+ * full the call fails fast with {@link PasswordHashingUnavailableException}.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final OperationMeters encodeMeters;
+    private final OperationMeters matchesMeters;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeMeters = new OperationMeters("encode", meterRegistry);
+        this.matchesMeters = new OperationMeters("matches", meterRegistry);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodeMeters, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesMeters, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(OperationMeters meters, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                meters.queueWait.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    meters.duration.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meters.rejected.increment();
+            log.warn("Password hashing queue is full, rejecting {}", meters.operation);
+            throw new PasswordHashingUnavailableException("Too many authentication requests, try again later");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Meters of one operation, registered once so that recording is not a registry lookup.
+     */
+    private static final class OperationMeters {
+
+        private final String operation;
+        private final Timer queueWait;
+        private final Timer duration;
+        private final Counter rejected;
+
+        private OperationMeters(String operation, MeterRegistry meterRegistry) {
+            this.operation = operation;
+            this.queueWait = Timer.builder("password.hashing.queue.wait")
+                    .description("Time password hashing tasks spend waiting for a thread")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            this.duration = Timer.builder("password.hashing.duration")
+                    .description("Time spent hashing or verifying a password")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("password.hashing.rejected")
+                    .description("Password hashing tasks rejected because the queue was full")
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        }
+    }
+}
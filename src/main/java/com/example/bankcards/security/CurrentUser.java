@@ -0,0 +1,39 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.User;
+import com.example.bankcards.exception.UserNotFoundException;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the id of the authenticated user without loading the user: from the token's uid claim,
+ * or from the principal when the filter already loaded it. Only tokens issued before the uid
+ * claim cost an id lookup by username.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+
+    private final UserRepository userRepository;
+
+    public long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+        }
+        if (authentication.getCredentials() instanceof VerifiedToken token && token.getUserId() != null) {
+            return token.getUserId();
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        String username = authentication.getName();
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new UserNotFoundException("User not found" + username));
+    }
+}
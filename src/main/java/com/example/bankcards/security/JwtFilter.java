@@ -1,7 +1,9 @@
 package com.example.bankcards.security;
 
 import com.example.bankcards.config.JwtConfig;
-import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.security.AuthenticationMetrics.Outcome;
+import com.example.bankcards.security.AuthenticationMetrics.Stage;
+import com.example.bankcards.service.jwt.VerifiedToken;
 import com.example.bankcards.service.user.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,43 +19,85 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserService userService;
     private final JwtConfig jwtConfig;
+    private final UserEpochRegistry userEpochRegistry;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+    private final AuthenticationMetrics metrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
         final String authHeader = request.getHeader(jwtConfig.getHeader());
-        final String jwt;
-        final String username;
         if (authHeader == null || !authHeader.startsWith(jwtConfig.getPrefix())) {
+            metrics.record(Stage.HEADER, start);
+            metrics.count(Outcome.NO_TOKEN);
             filterChain.doFilter(request, response);
             return;
         }
-        jwt = authHeader.substring(jwtConfig.getPrefix().length());
-        username = jwtProvider.extractUsername(jwt);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
-            if (jwtProvider.validateToken(jwt)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+        final String jwt = authHeader.substring(jwtConfig.getPrefix().length()).trim();
+        start = metrics.record(Stage.HEADER, start);
+
+        Optional<VerifiedToken> verifiedToken = verifiedTokenCache.verify(jwt);
+        start = metrics.record(Stage.VERIFY, start);
+        if (verifiedToken.isEmpty()) {
+            metrics.count(Outcome.INVALID);
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken token = verifiedToken.get();
+            boolean revoked = userEpochRegistry.isRevoked(token) || accessTokenRevocationList.isRevoked(token);
+            start = metrics.record(Stage.REVOCATION, start);
+            if (revoked) {
+                log.debug("Rejected revoked token of user {}", token.getSubject());
+                metrics.count(Outcome.REVOKED);
+                filterChain.doFilter(request, response);
+                return;
+            }
+            UsernamePasswordAuthenticationToken authenticationToken = jwtConfig.isStateless()
+                    ? statelessAuthentication(token)
+                    : userAuthentication(token);
+            start = metrics.record(Stage.USER_RESOLUTION, start);
+            if (authenticationToken != null) {
                 authenticationToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                metrics.record(Stage.CONTEXT, start);
+                metrics.count(Outcome.AUTHENTICATED);
+            } else {
+                metrics.count(Outcome.REJECTED_USER);
             }
-
         }
         filterChain.doFilter(request, response);
     }
+
+    private UsernamePasswordAuthenticationToken statelessAuthentication(VerifiedToken token) {
+        return new UsernamePasswordAuthenticationToken(
+                token.getSubject(),
+                token,
+                token.getAuthorities()
+        );
+    }
+
+    private UsernamePasswordAuthenticationToken userAuthentication(VerifiedToken token) {
+        UserDetails userDetails = userService.loadUserByUsername(token.getSubject());
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+            log.debug("Rejected token of disabled user {}", token.getSubject());
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(
+                userDetails,
+                token,
+                userDetails.getAuthorities()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.RateLimitConfig;
+import com.example.bankcards.dto.response.ErrorResponse;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies per-IP and per-principal token buckets to the endpoints listed under
+ * {@code security.rate-limit.endpoints}. Runs ahead of {@link JwtFilter}. Requests whose principal
+ * cannot be read, such as a refresh token that does not verify or a body over {@value #MAX_BODY_BYTES}
+ * bytes, are limited by IP only. At most that many bytes plus one are buffered; the rest of a larger
+ * body is streamed to the chain after them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 4096;
+
+    private final RateLimitConfig rateLimitConfig;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final JwtProvider jwtProvider;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitConfig.isEnabled() || endpointName(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String name = endpointName(request);
+        RateLimitConfig.Endpoint endpoint = rateLimitConfig.getEndpoints().get(name);
+
+        if (endpoint.getIp() != null) {
+            long wait = rateLimiter.tryAcquire(name + "|ip|" + request.getRemoteAddr(), endpoint.getIp());
+            if (wait > 0) {
+                reject(request, response, name, "ip", wait);
+                return;
+            }
+        }
+
+        HttpServletRequest chainRequest = request;
+        if (endpoint.getPrincipal() != null) {
+            String principal = null;
+            if (endpoint.getRefreshTokenParameter() != null) {
+                String refreshToken = request.getParameter(endpoint.getRefreshTokenParameter());
+                principal = refreshToken == null ? null
+                        : jwtProvider.verifyRefreshToken(refreshToken).map(Claims::getSubject).orElse(null);
+            } else if (endpoint.getPrincipalField() != null && request.getContentLengthLong() <= MAX_BODY_BYTES) {
+                CachedBodyRequest cached = new CachedBodyRequest(request);
+                principal = cached.readField(endpoint.getPrincipalField());
+                chainRequest = cached;
+            }
+            if (principal != null) {
+                long wait = rateLimiter.tryAcquire(name + "|principal|" + principal, endpoint.getPrincipal());
+                if (wait > 0) {
+                    reject(request, response, name, "principal", wait);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(chainRequest, response);
+    }
+
+    private String endpointName(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitConfig.Endpoint> entry : rateLimitConfig.getEndpoints().entrySet()) {
+            if (path.equals(entry.getValue().getPath())) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        String endpoint, String key, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.debug("Rate limit exceeded on {} by {} key, retry after {}s", endpoint, key, retryAfter);
+        meterRegistry.counter("auth.rate-limit.rejected", "endpoint", endpoint, "key", key).increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .url(request.getRequestURI())
+                .message("Too many requests, try again later")
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .build());
+    }
+
+    private class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+        private final boolean truncated;
+        private ServletInputStream inputStream;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            this.truncated = body.length > MAX_BODY_BYTES;
+        }
+
+        private String readField(String field) {
+            if (body.length == 0 || truncated) {
+                return null;
+            }
+            try {
+                JsonNode value = objectMapper.readTree(body).get(field);
+                return value != null && value.isTextual() ? value.asText() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new ReplayInputStream(body, truncated ? super.getInputStream() : null);
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * The buffered start of a body, followed by the unread rest of the original stream when the body
+     * did not fit the buffer.
+     */
+    private static class ReplayInputStream extends ServletInputStream {
+
+        private final ByteArrayInputStream buffered;
+        private final ServletInputStream rest;
+
+        private ReplayInputStream(byte[] buffered, ServletInputStream rest) {
+            this.buffered = new ByteArrayInputStream(buffered);
+            this.rest = rest;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return buffered.available() == 0 && (rest == null || rest.isFinished());
+        }
+
+        @Override
+        public boolean isReady() {
+            return buffered.available() > 0 || rest == null || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (rest != null) {
+                rest.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        readListener.onDataAvailable();
+                    }
+
+                    @Override
+                    public void onAllDataRead() throws IOException {
+                        if (buffered.available() > 0) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        readListener.onError(t);
+                    }
+                });
+                return;
+            }
+            // The whole body is already in memory.
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = buffered.read();
+            return b != -1 || rest == null ? b : rest.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0 || buffered.available() > 0 || rest == null) {
+                return buffered.read(b, off, len);
+            }
+            return rest.read(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bankcards.security;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * {@link DaoAuthenticationProvider} that times the whole authentication and the password check on
+ * its own; the difference is mostly the user lookup, which the parent class does not let us wrap.
+ */
+public class TimedDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final Timer authenticationTimer;
+    private final Timer passwordMatchedTimer;
+    private final Timer passwordRejectedTimer;
+
+    public TimedDaoAuthenticationProvider(AuthenticationMetrics metrics) {
+        this.authenticationTimer = metrics.authenticationTimer();
+        this.passwordMatchedTimer = metrics.passwordCheckTimer("matched");
+        this.passwordRejectedTimer = metrics.passwordCheckTimer("rejected");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample sample = Timer.start();
+        try {
+            return super.authenticate(authentication);
+        } finally {
+            sample.stop(authenticationTimer);
+        }
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        Timer.Sample sample = Timer.start();
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+            sample.stop(passwordMatchedTimer);
+        } catch (BadCredentialsException e) {
+            sample.stop(passwordRejectedTimer);
+            throw e;
+        }
+    }
+}
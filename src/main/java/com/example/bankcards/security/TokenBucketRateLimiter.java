@@ -0,0 +1,109 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.RateLimitConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by an arbitrary string. Each bucket is a single {@link AtomicLong}
+ * holding its theoretical arrival time (GCRA), so a check is one read and one CAS.
+ * Buckets that have been full for longer than the idle timeout are dropped; a full bucket is
+ * indistinguishable from a new one, so eviction never changes a decision.
+ */
+@Component
+@Slf4j
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final ConcurrentHashMap<String, Bucket>[] stripes;
+    private final long idleTimeoutNanos;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry) {
+        this.idleTimeoutNanos = rateLimitConfig.getIdleTimeout().toNanos();
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        Gauge.builder("auth.rate-limit.buckets", this, TokenBucketRateLimiter::size)
+                .description("Rate limit buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    public long tryAcquire(String key, RateLimitConfig.Limit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    long tryAcquire(String key, RateLimitConfig.Limit limit, long now) {
+        ConcurrentHashMap<String, Bucket> stripe = stripe(key);
+        Bucket bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new Bucket(limit, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    void evictIdle(long now) {
+        long threshold = now - idleTimeoutNanos;
+        int evicted = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(bucket -> bucket.get() - threshold < 0);
+            evicted += before - stripe.size();
+        }
+        log.debug("Evicted {} idle rate limit buckets", evicted);
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, Bucket> stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Bucket extends AtomicLong {
+
+        private final long emissionInterval;
+        private final long burstTolerance;
+
+        private Bucket(RateLimitConfig.Limit limit, long now) {
+            super(now);
+            this.emissionInterval = limit.getRefillPeriod().toNanos() / limit.getCapacity();
+            this.burstTolerance = emissionInterval * (limit.getCapacity() - 1);
+        }
+
+        private long tryAcquire(long now) {
+            while (true) {
+                long arrival = get();
+                long backlog = Math.max(arrival - now, 0);
+                if (backlog > burstTolerance) {
+                    return backlog - burstTolerance;
+                }
+                if (compareAndSet(arrival, now + backlog + emissionInterval)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
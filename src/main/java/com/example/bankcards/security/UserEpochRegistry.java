@@ -0,0 +1,89 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.entity.UserAccessRevocation;
+import com.example.bankcards.repository.UserAccessRevocationRepository;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import com.example.bankcards.service.user.UserAccessRevokedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of "user epochs": access tokens of a user issued before the user's epoch are rejected.
+ * Entries only need to outlive the access token lifetime, so the table stays small. Epochs set on
+ * this node are also stored in {@code user_access_revocations}, from which a starting node reloads
+ * them: a deleted user has no row left in {@code users} to derive the epoch from.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserEpochRegistry {
+
+    private final JwtConfig jwtConfig;
+    private final UserAccessRevocationRepository userAccessRevocationRepository;
+
+    private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+
+    public void revoke(String username) {
+        revoke(username, System.currentTimeMillis());
+    }
+
+    public void revoke(String username, long epochMillis) {
+        log.debug("Revoking tokens of user {} issued before {}", username, epochMillis);
+        epochs.merge(username, epochMillis, Math::max);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        Long epoch = epochs.get(token.getSubject());
+        if (epoch == null) {
+            return false;
+        }
+        return token.getIssuedAt() == null || token.getIssuedAt().toEpochMilli() < epoch;
+    }
+
+    public int size() {
+        return epochs.size();
+    }
+
+    @EventListener
+    public void onUserAccessRevoked(UserAccessRevokedEvent event) {
+        long epochMillis = System.currentTimeMillis();
+        revoke(event.getUsername(), epochMillis);
+        if (!event.isRemote()) {
+            userAccessRevocationRepository.save(new UserAccessRevocation(event.getUsername(),
+                    toLocalDateTime(epochMillis), toLocalDateTime(epochMillis + accessTokenLifetimeMillis())));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadEpochs() {
+        userAccessRevocationRepository.findByExpiresAtAfter(LocalDateTime.now()).forEach(revocation ->
+                revoke(revocation.getUsername(), revocation.getRevokedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        log.debug("Loaded {} user epochs", epochs.size());
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.epoch-cleanup-interval:PT5M}")
+    public void evictExpired() {
+        long threshold = System.currentTimeMillis() - accessTokenLifetimeMillis();
+        epochs.values().removeIf(epoch -> epoch < threshold);
+        userAccessRevocationRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private long accessTokenLifetimeMillis() {
+        return jwtConfig.getAccess_expiration() * 1000L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Optional cache of already verified access tokens, keyed by the first 128 bits of the token's SHA-256.
+ * Entries never outlive the token's exp claim.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final JwtProvider jwtProvider;
+    private final boolean enabled;
+    private final Cache<TokenDigest, VerifiedToken> cache;
+    private final Timer verificationTimer;
+    private final DoubleAdder savedNanos = new DoubleAdder();
+
+    public VerifiedTokenCache(JwtProvider jwtProvider,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.jwt.token-cache.enabled:false}") boolean enabled,
+                              @Value("${security.jwt.token-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${security.jwt.token-cache.max-ttl:PT5M}") Duration maxTtl) {
+        this.jwtProvider = jwtProvider;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Time spent verifying access tokens that were not cached")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+        Gauge.builder("jwt.verified-tokens.hit-ratio", cache, c -> c.stats().hitRate())
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.verified-tokens.saved-time", savedNanos, adder -> adder.sum() / TimeUnit.SECONDS.toNanos(1))
+                .description("Estimated verification time saved by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        if (!enabled) {
+            return jwtProvider.verify(token);
+        }
+        TokenDigest digest = digest(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null && cached.getExpiration().isAfter(Instant.now())) {
+            savedNanos.add(verificationTimer.mean(TimeUnit.NANOSECONDS));
+            return Optional.of(cached);
+        }
+        long start = System.nanoTime();
+        Optional<VerifiedToken> verified = jwtProvider.verify(token);
+        verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        verified.ifPresent(value -> cache.put(digest, value));
+        return verified;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private static TokenDigest digest(String token) {
+        MessageDigest messageDigest = SHA_256.get();
+        byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenDigest(buffer.getLong(), buffer.getLong());
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class TokenDigest {
+        private final long high;
+        private final long low;
+    }
+
+    private static class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        private final long maxTtlNanos;
+
+        private TokenExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            long untilExpiration = TimeUnit.MILLISECONDS.toNanos(value.getExpiration().toEpochMilli() - System.currentTimeMillis());
+            return Math.max(0, Math.min(untilExpiration, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
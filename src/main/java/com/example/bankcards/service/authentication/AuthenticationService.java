@@ -4,6 +4,7 @@ import com.example.bankcards.dto.request.LoginRequest;
 import com.example.bankcards.dto.request.RegistrationRequestDto;
 import com.example.bankcards.dto.response.TokenResponse;
 import com.example.bankcards.dto.response.UserResponse;
+import com.example.bankcards.service.jwt.VerifiedToken;
 
 import java.net.URI;
 
@@ -14,4 +15,6 @@ public interface AuthenticationService {
     UserResponse registration (RegistrationRequestDto registrationRequestDto);
 
     TokenResponse refreshToken(String refreshToken);
+
+    void logout(VerifiedToken accessToken);
 }
\ No newline at end of file
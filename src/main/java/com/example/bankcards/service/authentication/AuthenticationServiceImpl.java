@@ -6,15 +6,16 @@ import com.example.bankcards.dto.response.TokenResponse;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.Role;
-import com.example.bankcards.repository.TokenRepository;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.AccessTokenRevocationList;
 import com.example.bankcards.service.jwt.JwtService;
-import com.example.bankcards.service.user.UserService;
+import com.example.bankcards.service.jwt.VerifiedToken;
 import com.example.bankcards.util.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,23 +23,22 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Slf4j
 public class AuthenticationServiceImpl implements AuthenticationService {
-    private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserRepository userRepository;
-    private final TokenRepository tokenRepository;
     private final UserMapper userMapper;
+    private final AccessTokenRevocationList accessTokenRevocationList;
 
 
     @Override
     public TokenResponse login(LoginRequest loginRequest) {
         log.debug("Login request: {}", loginRequest);
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
         );
 
-        User user = (User) userService.loadUserByUsername(loginRequest.getUsername());
+        User user = (User) authentication.getPrincipal();
 
         log.debug("User: {}", user);
         return jwtService.generateToken(user);
@@ -63,4 +63,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         log.debug("Refresh token: {}", refreshToken);
         return jwtService.regenerateToken(refreshToken);
     }
+
+    @Override
+    public void logout(VerifiedToken accessToken) {
+        log.debug("Logout user: {}", accessToken.getSubject());
+        accessTokenRevocationList.revoke(accessToken);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.entity.enums.CardType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Issuer BIN ranges loaded from {@code cards.bin-ranges.location}. Readers always see one complete
+ * {@link BinRangeTable}: a reload builds a new table off to the side and swaps it in, and a file
+ * that fails to parse leaves the current table in place.
+ */
+@Component
+@Slf4j
+public class BinRangeRegistry {
+
+    private final Resource location;
+    private final AtomicReference<BinRangeTable> table = new AtomicReference<>();
+
+    private volatile long lastModified;
+
+    public BinRangeRegistry(@Value("${cards.bin-ranges.location:classpath:bin-ranges.csv}") Resource location) {
+        this.location = location;
+        try {
+            reload();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read BIN ranges from " + location, e);
+        }
+    }
+
+    /**
+     * @return the card type issued under {@code number}, or {@code null} if no range covers it
+     */
+    public CardType classify(CharSequence number) {
+        return table.get().classify(number);
+    }
+
+    public String issuingBin(CardType type) {
+        return table.get().issuingBin(type);
+    }
+
+    @Scheduled(fixedDelayString = "${cards.bin-ranges.reload-interval:PT1M}")
+    public void reloadIfModified() {
+        try {
+            if (location.lastModified() != lastModified) {
+                reload();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Keeping current BIN ranges, cannot reload {}: {}", location, e.getMessage());
+        }
+    }
+
+    public synchronized void reload() throws IOException {
+        long modified = location.lastModified();
+        BinRangeTable loaded;
+        try (Reader reader = new InputStreamReader(location.getInputStream(), StandardCharsets.UTF_8)) {
+            loaded = BinRangeTable.parse(reader);
+        }
+        table.set(loaded);
+        lastModified = modified;
+        log.info("Loaded {} BIN intervals from {}", loaded.size(), location);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.entity.enums.CardType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable index of issuer BIN ranges. Ranges are widened to eight-digit keys and flattened into
+ * sorted, disjoint intervals held in primitive arrays, so classifying a number is a binary search
+ * over the first eight digits and allocates nothing.
+ */
+public final class BinRangeTable {
+
+    static final int KEY_LENGTH = 8;
+    static final int ISSUING_BIN_LENGTH = 6;
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    private final int[] lows;
+    private final int[] highs;
+    private final Range[] ranges;
+    private final Map<CardType, String> issuingBins;
+
+    private BinRangeTable(int[] lows, int[] highs, Range[] ranges, Map<CardType, String> issuingBins) {
+        this.lows = lows;
+        this.highs = highs;
+        this.ranges = ranges;
+        this.issuingBins = issuingBins;
+    }
+
+    /**
+     * Reads lines of {@code low,high,type,min_length,max_length[,issuing]}; blank lines and lines
+     * starting with {@code #} are skipped.
+     *
+     * @throws IllegalArgumentException if a line is malformed, two ranges partially overlap or a
+     *                                  card type has no issuing range
+     */
+    public static BinRangeTable parse(Reader reader) throws IOException {
+        List<Range> parsed = new ArrayList<>();
+        Map<CardType, String> issuingBins = new EnumMap<>(CardType.class);
+        BufferedReader lines = new BufferedReader(reader);
+        int lineNumber = 0;
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                parsed.add(parseRange(line.split(","), issuingBins));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid BIN range on line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        for (CardType type : CardType.values()) {
+            if (!issuingBins.containsKey(type)) {
+                throw new IllegalArgumentException("No issuing BIN for " + type);
+            }
+        }
+        return flatten(parsed, issuingBins);
+    }
+
+    /**
+     * @return the card type whose range contains {@code number} and allows its length, or
+     * {@code null} if there is none or {@code number} does not start with eight digits
+     */
+    public CardType classify(CharSequence number) {
+        int length = number.length();
+        if (length < KEY_LENGTH) {
+            return null;
+        }
+        int key = 0;
+        for (int i = 0; i < KEY_LENGTH; i++) {
+            int digit = number.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            key = key * 10 + digit;
+        }
+        int index = Arrays.binarySearch(lows, key);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        if (index < 0 || key > highs[index]) {
+            return null;
+        }
+        Range range = ranges[index];
+        return length >= range.minLength && length <= range.maxLength ? range.type : null;
+    }
+
+    public String issuingBin(CardType type) {
+        return issuingBins.get(type);
+    }
+
+    /**
+     * @return the number of disjoint intervals after nested ranges were cut out of their parents
+     */
+    public int size() {
+        return lows.length;
+    }
+
+    private static Range parseRange(String[] columns, Map<CardType, String> issuingBins) {
+        if (columns.length < 5 || columns.length > 6) {
+            throw new IllegalArgumentException("expected 5 or 6 columns but found " + columns.length);
+        }
+        String low = columns[0].trim();
+        String high = columns[1].trim();
+        CardType type = CardType.valueOf(columns[2].trim().toUpperCase(Locale.ROOT));
+        int minLength = Integer.parseInt(columns[3].trim());
+        int maxLength = Integer.parseInt(columns[4].trim());
+        if (minLength < KEY_LENGTH || minLength > maxLength) {
+            throw new IllegalArgumentException("invalid length bounds " + minLength + ".." + maxLength);
+        }
+        Range range = new Range(key(low, 0), key(high, 9), type, minLength, maxLength);
+        if (range.low > range.high) {
+            throw new IllegalArgumentException(low + " is above " + high);
+        }
+        if (columns.length == 6) {
+            if (!"issuing".equals(columns[5].trim())) {
+                throw new IllegalArgumentException("unknown flag " + columns[5].trim());
+            }
+            if (!low.equals(high) || low.length() != ISSUING_BIN_LENGTH) {
+                throw new IllegalArgumentException("issuing range must be a single six-digit BIN");
+            }
+            if (issuingBins.putIfAbsent(type, low) != null) {
+                throw new IllegalArgumentException("second issuing BIN for " + type);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Widens a prefix to {@link #KEY_LENGTH} digits by appending {@code fill}.
+     */
+    private static int key(String prefix, int fill) {
+        int length = prefix.length();
+        if (length == 0 || length > KEY_LENGTH) {
+            throw new IllegalArgumentException("BIN prefix must have 1 to " + KEY_LENGTH + " digits: " + prefix);
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = prefix.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Not a digit in BIN prefix: " + prefix);
+            }
+            value = value * 10 + digit;
+        }
+        int scale = POWERS_OF_TEN[KEY_LENGTH - length];
+        return value * scale + fill * (scale - 1) / 9;
+    }
+
+    /**
+     * Cuts nested ranges out of the ranges containing them, so every key falls in at most one
+     * interval and the innermost range wins. Ranges are visited outermost first; the stack holds
+     * the ranges still open at the current position.
+     */
+    private static BinRangeTable flatten(List<Range> parsed, Map<CardType, String> issuingBins) {
+        parsed.sort(Comparator.comparingInt((Range range) -> range.low)
+                .thenComparing(Comparator.comparingInt((Range range) -> range.high).reversed()));
+        List<int[]> bounds = new ArrayList<>(parsed.size() * 2);
+        List<Range> owners = new ArrayList<>(parsed.size() * 2);
+        Deque<Range> open = new ArrayDeque<>();
+        int next = 0;
+        for (Range range : parsed) {
+            while (!open.isEmpty() && open.peek().high < range.low) {
+                Range closed = open.pop();
+                emit(bounds, owners, next, closed.high, closed);
+                next = closed.high + 1;
+            }
+            Range parent = open.peek();
+            if (parent != null) {
+                if (range.high > parent.high) {
+                    throw new IllegalArgumentException("BIN ranges " + parent + " and " + range + " overlap");
+                }
+                if (range.low == parent.low && range.high == parent.high) {
+                    throw new IllegalArgumentException("BIN range " + range + " is listed twice");
+                }
+                emit(bounds, owners, next, range.low - 1, parent);
+            }
+            open.push(range);
+            next = range.low;
+        }
+        while (!open.isEmpty()) {
+            Range closed = open.pop();
+            emit(bounds, owners, next, closed.high, closed);
+            next = closed.high + 1;
+        }
+
+        int[] lows = new int[bounds.size()];
+        int[] highs = new int[bounds.size()];
+        for (int i = 0; i < lows.length; i++) {
+            lows[i] = bounds.get(i)[0];
+            highs[i] = bounds.get(i)[1];
+        }
+        return new BinRangeTable(lows, highs, owners.toArray(new Range[0]), issuingBins);
+    }
+
+    private static void emit(List<int[]> bounds, List<Range> owners, int low, int high, Range range) {
+        if (low <= high) {
+            bounds.add(new int[]{low, high});
+            owners.add(range);
+        }
+    }
+
+    private record Range(int low, int high, CardType type, int minLength, int maxLength) {
+
+        @Override
+        public String toString() {
+            return low + ".." + high + " (" + type + ")";
+        }
+    }
+}
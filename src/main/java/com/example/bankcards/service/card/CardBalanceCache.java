@@ -0,0 +1,109 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.dto.CardBalance;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.service.invalidation.InvalidationChannel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of card balances keyed by card id. Every entry carries the card's JPA version, and
+ * an entry is never replaced by one with a lower version, so a slow load or an out-of-order write
+ * can never put an older balance back. A miss loads the balance under the key's lock, and
+ * writers raise a {@link CardBalanceChangedEvent} that is published once their transaction
+ * commits, so a read after a transfer sees its result and a rolled back one is never seen.
+ * Other nodes are told the card id and new version over the {@link InvalidationChannel} and drop
+ * any older entry; entries also expire after {@code cards.balance-cache.expire-after-write} in
+ * case a notification is lost.
+ */
+@Component
+public class CardBalanceCache {
+
+    static final String TOPIC = "card_balance_changed";
+
+    private final CardRepository cardRepository;
+    private final InvalidationChannel invalidationChannel;
+    private final boolean enabled;
+    private final Cache<Long, CardBalance> cache;
+
+    public CardBalanceCache(CardRepository cardRepository,
+                            InvalidationChannel invalidationChannel,
+                            MeterRegistry meterRegistry,
+                            @Value("${cards.balance-cache.enabled:true}") boolean enabled,
+                            @Value("${cards.balance-cache.maximum-size:100000}") long maximumSize,
+                            @Value("${cards.balance-cache.expire-after-write:PT1M}") Duration expireAfterWrite) {
+        this.cardRepository = cardRepository;
+        this.invalidationChannel = invalidationChannel;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cards.balances");
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationChannel.subscribe(TOPIC, payload -> {
+            int separator = payload.indexOf(':');
+            evictOlderThan(Long.parseLong(payload.substring(0, separator)),
+                    Long.parseLong(payload.substring(separator + 1)));
+        });
+    }
+
+    /**
+     * @return the card's balance, loaded from the database on a miss or when the cache is
+     * disabled, or {@code null} when the card does not exist
+     */
+    public CardBalance get(long cardId) {
+        if (!enabled) {
+            return load(cardId);
+        }
+        return cache.get(cardId, this::load);
+    }
+
+    /**
+     * Publishes the balance of a card whose change has been committed. {@code card} must be the
+     * instance returned by the save, which carries the new version.
+     */
+    public void update(Card card) {
+        if (!enabled) {
+            return;
+        }
+        CardBalance written = new CardBalance(card.getOwner().getId(), card.getBalance(), card.getVersion());
+        cache.asMap().merge(card.getId(), written,
+                (cached, update) -> update.getVersion() >= cached.getVersion() ? update : cached);
+        invalidationChannel.publish(TOPIC, card.getId() + ":" + card.getVersion());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCardBalanceChanged(CardBalanceChangedEvent event) {
+        update(event.getCard());
+    }
+
+    /**
+     * Drops the entry of a card changed on another node unless it is already at {@code version}.
+     * A load in flight for the card finishes first, so a balance read before the change cannot
+     * slip in after the eviction.
+     */
+    private void evictOlderThan(long cardId, long version) {
+        if (enabled) {
+            cache.asMap().computeIfPresent(cardId, (id, cached) -> cached.getVersion() < version ? null : cached);
+        }
+    }
+
+    private CardBalance load(Long cardId) {
+        return cardRepository.findBalanceById(cardId).orElse(null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.entity.Card;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A card whose balance was saved in the current transaction. {@link CardBalanceCache} publishes it
+ * once the transaction commits, when the card carries its new version.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CardBalanceChangedEvent {
+
+    private final Card card;
+}
@@ -0,0 +1,66 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.repository.CardRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves cards past their expiration date to EXPIRED in chunks, each chunk its own short
+ * transaction. Rows are claimed with {@code FOR UPDATE SKIP LOCKED}, so several nodes can run
+ * the job at once and split the work instead of waiting on each other.
+ */
+@Component
+@Slf4j
+public class CardExpiryJob {
+
+    private final CardRepository cardRepository;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter expiredCounter;
+    private final Timer runTimer;
+
+    public CardExpiryJob(CardRepository cardRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${cards.expiry.batch-size:1000}") int batchSize,
+                         @Value("${cards.expiry.max-batches:10000}") int maxBatches) {
+        this.cardRepository = cardRepository;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.expiredCounter = Counter.builder("cards.expiry.expired")
+                .description("Cards moved to EXPIRED by the expiry job")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("cards.expiry.run")
+                .description("Duration of one expiry job run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${cards.expiry.interval:PT1H}")
+    public int expireCards() {
+        LocalDateTime now = LocalDateTime.now();
+        long start = System.nanoTime();
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int expired = cardRepository.expireBatch(now, batchSize);
+            total += expired;
+            expiredCounter.increment(expired);
+            if (expired < batchSize) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (total > 0) {
+            log.info("Expired {} cards in {} ms ({} rows/s)", total, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    Math.round(total * 1e9 / Math.max(elapsed, 1)));
+        }
+        return total;
+    }
+}
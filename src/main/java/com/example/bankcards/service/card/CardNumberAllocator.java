@@ -0,0 +1,120 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.entity.CardNumberBlock;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.exception.CardNumbersExhaustedException;
+import com.example.bankcards.repository.CardNumberBlockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out card numbers from sequence blocks reserved in {@code card_number_blocks}. Each node
+ * reserves a block per issuing BIN with a single upsert and then serves it from an in-memory
+ * counter, so nodes never share a sequence value and never wait on each other. Values left in a
+ * block when a node stops are skipped, not reused. Once a BIN has handed out all
+ * {@link CardNumberGenerate#MAX_SEQUENCE} + 1 sequences, allocation fails with
+ * {@link CardNumbersExhaustedException}.
+ */
+@Component
+@Slf4j
+public class CardNumberAllocator {
+
+    private static final int SEQUENCE_LIMIT = CardNumberGenerate.MAX_SEQUENCE + 1;
+
+    private final CardNumberBlockRepository cardNumberBlockRepository;
+    private final CardNumberGenerate cardNumberGenerate;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public CardNumberAllocator(CardNumberBlockRepository cardNumberBlockRepository,
+                               CardNumberGenerate cardNumberGenerate,
+                               @Value("${cards.number-allocator.block-size:100}") int blockSize) {
+        this.cardNumberBlockRepository = cardNumberBlockRepository;
+        this.cardNumberGenerate = cardNumberGenerate;
+        this.blockSize = blockSize;
+    }
+
+    public String allocate(CardType cardType) {
+        String blockKey = cardNumberGenerate.blockKey(cardType);
+        Block block = blocks.get(blockKey);
+        int sequence = block == null ? -1 : block.next();
+        while (sequence < 0) {
+            block = reserve(blockKey, blockSize);
+            blocks.put(blockKey, block);
+            sequence = block.next();
+        }
+        return cardNumberGenerate.generate(cardType, sequence);
+    }
+
+    /**
+     * Allocates {@code count} numbers for one BIN. Whatever the current block cannot cover is
+     * reserved with a single upsert sized to the request rather than block by block. A request the
+     * BIN can no longer cover fails before anything is reserved.
+     */
+    public List<String> allocate(CardType cardType, int count) {
+        String blockKey = cardNumberGenerate.blockKey(cardType);
+        Block block = blocks.get(blockKey);
+        int available = block == null ? 0 : block.remaining();
+        if (count > available) {
+            long unreserved = SEQUENCE_LIMIT - cardNumberBlockRepository.findById(blockKey)
+                    .map(CardNumberBlock::getNextValue)
+                    .map(nextValue -> Math.min(nextValue, SEQUENCE_LIMIT))
+                    .orElse(0L);
+            if (count > available + unreserved) {
+                throw new CardNumbersExhaustedException("Cannot issue " + count + " " + cardType
+                        + " cards, " + (available + unreserved) + " numbers left for BIN " + blockKey);
+            }
+        }
+        List<String> numbers = new ArrayList<>(count);
+        while (numbers.size() < count) {
+            int sequence = block == null ? -1 : block.next();
+            if (sequence < 0) {
+                block = reserve(blockKey, Math.max(blockSize, count - numbers.size()));
+                blocks.put(blockKey, block);
+                continue;
+            }
+            numbers.add(cardNumberGenerate.generate(cardType, sequence));
+        }
+        return numbers;
+    }
+
+    private Block reserve(String blockKey, int size) {
+        long end = cardNumberBlockRepository.reserve(blockKey, size);
+        long start = end - size;
+        if (start >= SEQUENCE_LIMIT) {
+            throw new CardNumbersExhaustedException("No card numbers left for BIN " + blockKey);
+        }
+        log.debug("Reserved card sequences [{}, {}) for {}", start, Math.min(end, SEQUENCE_LIMIT), blockKey);
+        return new Block((int) start, (int) Math.min(end, SEQUENCE_LIMIT));
+    }
+
+    private static final class Block {
+
+        private final AtomicInteger next;
+        private final int end;
+
+        private Block(int start, int end) {
+            this.next = new AtomicInteger(start);
+            this.end = end;
+        }
+
+        /**
+         * @return the next unused sequence, or -1 once the block is used up
+         */
+        private int next() {
+            int value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+
+        private int remaining() {
+            return Math.max(end - next.get(), 0);
+        }
+    }
+}
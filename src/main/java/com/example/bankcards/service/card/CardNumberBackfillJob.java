@@ -0,0 +1,130 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.dto.EncryptedCardNumber;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.util.CardNumberCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finishes the move to encrypted card numbers for cards issued before it. V6 only adds the
+ * encrypted columns, because encrypting needs the application's keys: this job fills the
+ * ciphertext, blind index, mask and last four digits from the legacy plaintext {@code number}
+ * column and clears it, then issues new numbers to the duplicates V5 recorded in
+ * {@code card_number_reissues}. It runs once on startup in chunks, each its own transaction with
+ * rows claimed by {@code FOR UPDATE SKIP LOCKED}, and does nothing on a schema without the legacy
+ * column.
+ */
+@Component
+@Slf4j
+public class CardNumberBackfillJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CardNumberCipher cardNumberCipher;
+    private final CardNumberAllocator cardNumberAllocator;
+    private final int batchSize;
+
+    public CardNumberBackfillJob(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 CardNumberCipher cardNumberCipher,
+                                 CardNumberAllocator cardNumberAllocator,
+                                 @Value("${cards.number-backfill.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cardNumberCipher = cardNumberCipher;
+        this.cardNumberAllocator = cardNumberAllocator;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfill();
+    }
+
+    /**
+     * @return the number of cards that were encrypted or reissued
+     */
+    public int backfill() {
+        if (!hasColumn("cards", "number")) {
+            return 0;
+        }
+        int encrypted = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> encryptBatch());
+            encrypted += batch;
+        } while (batch == batchSize);
+
+        int reissued = 0;
+        if (hasColumn("card_number_reissues", "card_id")) {
+            do {
+                batch = transactionTemplate.execute(status -> reissueBatch());
+                reissued += batch;
+            } while (batch == batchSize);
+        }
+        if (encrypted + reissued > 0) {
+            log.info("Encrypted {} legacy card numbers and reissued {} duplicate ones", encrypted, reissued);
+        }
+        return encrypted + reissued;
+    }
+
+    private int encryptBatch() {
+        List<Object[]> cards = jdbcTemplate.query(
+                "SELECT id, number FROM cards WHERE number IS NOT NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, row) -> new Object[]{rs.getLong(1), rs.getString(2)}, batchSize);
+        List<Object[]> updates = new ArrayList<>(cards.size());
+        for (Object[] card : cards) {
+            updates.add(encryptedColumns((Long) card[0], (String) card[1]));
+        }
+        jdbcTemplate.batchUpdate("""
+                UPDATE cards SET number_encrypted = ?, number_hash = ?, number_mask = ?, number_last4 = ?,
+                                 number = NULL
+                WHERE id = ?""", updates);
+        return cards.size();
+    }
+
+    private int reissueBatch() {
+        List<Object[]> cards = jdbcTemplate.query("""
+                SELECT c.id, c.type
+                FROM card_number_reissues r JOIN cards c ON c.id = r.card_id
+                ORDER BY r.card_id LIMIT ? FOR UPDATE SKIP LOCKED""",
+                (rs, row) -> new Object[]{rs.getLong(1), CardType.valueOf(rs.getString(2))},
+                batchSize);
+        List<Object[]> updates = new ArrayList<>(cards.size());
+        List<Object[]> reissued = new ArrayList<>(cards.size());
+        for (Object[] card : cards) {
+            String number = cardNumberAllocator.allocate((CardType) card[1]);
+            updates.add(encryptedColumns((Long) card[0], number));
+            reissued.add(new Object[]{card[0]});
+        }
+        jdbcTemplate.batchUpdate("""
+                UPDATE cards SET number_encrypted = ?, number_hash = ?, number_mask = ?, number_last4 = ?
+                WHERE id = ?""", updates);
+        jdbcTemplate.batchUpdate("DELETE FROM card_number_reissues WHERE card_id = ?", reissued);
+        return cards.size();
+    }
+
+    private Object[] encryptedColumns(long id, String number) {
+        EncryptedCardNumber encrypted = cardNumberCipher.encrypt(number);
+        return new Object[]{encrypted.getEncryptedCardNumber(), encrypted.getCardNumberHash(), encrypted.getCardMask(),
+                number.substring(number.length() - CardNumberCodec.VISIBLE_DIGITS), id};
+    }
+
+    private boolean hasColumn(String table, String column) {
+        Integer columns = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE lower(table_schema) = lower(current_schema) AND lower(table_name) = ? AND lower(column_name) = ?""",
+                Integer.class, table, column);
+        return columns != null && columns > 0;
+    }
+}
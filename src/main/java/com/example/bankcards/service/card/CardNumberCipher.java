@@ -0,0 +1,117 @@
+package com.example.bankcards.service.card;
+
+import com.example.bankcards.dto.EncryptedCardNumber;
+import com.example.bankcards.util.CardNumberCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Encrypts card numbers with AES-GCM and derives an HMAC-SHA256 blind index for lookups, so the
+ * plaintext number is never stored. {@link Cipher} and {@link Mac} are not thread-safe and costly
+ * to look up, so each thread keeps its own and only re-initialises it per call.
+ * Stored values are Base64 of the 12-byte IV followed by the ciphertext and tag.
+ */
+@Component
+public class CardNumberCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String INDEX_ALGORITHM = "HmacSHA256";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey encryptionKey;
+    private final SecretKey indexKey;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Cipher> ciphers;
+    private final ThreadLocal<Mac> macs;
+
+    public CardNumberCipher(@Value("${cards.encryption.key}") String encryptionKey,
+                            @Value("${cards.encryption.index-key}") String indexKey) {
+        this.encryptionKey = new SecretKeySpec(Base64.getDecoder().decode(encryptionKey), "AES");
+        this.indexKey = new SecretKeySpec(Base64.getDecoder().decode(indexKey), INDEX_ALGORITHM);
+        this.ciphers = ThreadLocal.withInitial(() -> newInstance(() -> Cipher.getInstance(TRANSFORMATION)));
+        this.macs = ThreadLocal.withInitial(() -> newInstance(() -> {
+            Mac mac = Mac.getInstance(INDEX_ALGORITHM);
+            mac.init(this.indexKey);
+            return mac;
+        }));
+        // Fail at startup rather than on the first card if a key has the wrong size.
+        decrypt(encrypt("0000000000000000").getEncryptedCardNumber());
+    }
+
+    public EncryptedCardNumber encrypt(String cardNumber) {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] plaintext = cardNumber.getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer stored = ByteBuffer.allocate(IV_LENGTH + cipher.getOutputSize(plaintext.length));
+            stored.put(iv);
+            cipher.doFinal(ByteBuffer.wrap(plaintext), stored);
+            return EncryptedCardNumber.builder()
+                    .encryptedCardNumber(Base64.getEncoder().encodeToString(stored.array()))
+                    .cardNumberHash(blindIndex(cardNumber))
+                    .cardMask(CardNumberCodec.mask(cardNumber))
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Card number encryption failed", e);
+        }
+    }
+
+    public String decrypt(String encryptedCardNumber) {
+        byte[] stored = Base64.getDecoder().decode(encryptedCardNumber);
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, stored, 0, IV_LENGTH));
+            byte[] plaintext = cipher.doFinal(stored, IV_LENGTH, stored.length - IV_LENGTH);
+            return new String(plaintext, StandardCharsets.US_ASCII);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Card number decryption failed", e);
+        }
+    }
+
+    public List<String> decryptAll(List<String> encryptedCardNumbers) {
+        List<String> cardNumbers = new ArrayList<>(encryptedCardNumbers.size());
+        for (String encryptedCardNumber : encryptedCardNumbers) {
+            cardNumbers.add(decrypt(encryptedCardNumber));
+        }
+        return cardNumbers;
+    }
+
+    /**
+     * Deterministic keyed hash of the number, so equal numbers can be found with an equality
+     * lookup on an indexed column without the index revealing them.
+     */
+    public String blindIndex(String cardNumber) {
+        byte[] digest = macs.get().doFinal(cardNumber.getBytes(StandardCharsets.US_ASCII));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static <T> T newInstance(CryptoSupplier<T> supplier) {
+        try {
+            return supplier.get();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Card number crypto is not available", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CryptoSupplier<T> {
+        T get() throws GeneralSecurityException;
+    }
+}
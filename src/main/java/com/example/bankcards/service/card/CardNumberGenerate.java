@@ -1,122 +1,66 @@
 package com.example.bankcards.service.card;
 
 import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.util.CardNumberCodec;
 import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import static com.example.bankcards.entity.enums.CardType.DIGIT_IN_ONE_SECTION;
-
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class CardNumberGenerate {
 
-        private static final int OWNER_ID_LENGTH = 6;
+        private static final int SEQUENCE_LENGTH = 9;
 
-        private static final int SEQUENCE_LENGTH = 3;
+        /**
+         * Every digit between the BIN and the check digit is sequence, so one BIN holds a
+         * billion numbers shared by all owners.
+         */
+        public static final int MAX_SEQUENCE = 999_999_999;
 
-        private static final int MAX_SEQUENCE = 999;
+        private final BinRangeRegistry binRangeRegistry;
 
     public static String generateCardMask(String cardNumber) {
-        int maskLength = cardNumber.length() - DIGIT_IN_ONE_SECTION;
-
-        StringBuilder mask = new StringBuilder();
-        for (int i = 0; i < maskLength; i++) {
-            mask.append("*");
-            if ((i + 1) % DIGIT_IN_ONE_SECTION == 0 && i != maskLength - 1) {
-                mask.append(" ");
-            }
-        }
-
-        String visibleNumber = cardNumber.substring(maskLength);
-
-        return mask.append(visibleNumber).toString();
+        return CardNumberCodec.mask(cardNumber);
     }
 
-        public String generate(CardType type, @NotNull Long ownerId, @NotNull String lastNumber) {
+        /**
+         * Numbers sharing a block key differ only in their sequence, so the key is what the
+         * allocator must hand out sequences for: the issuing BIN of the type.
+         */
+        public String blockKey(@NotNull CardType type) {
             if (type == null) {
                 throw new IllegalArgumentException("CardType must not be null");
             }
-            if (ownerId == null) {
-                throw new IllegalArgumentException("OwnerId must not be null");
-            }
-            if (lastNumber == null) {
-                throw new IllegalArgumentException("LastNumber must not be null");
-            }
-
-            String prefix = type.getPrefix();
-            int totalLength = type.getLength();
-
-            String base = buildBaseNumber(prefix, ownerId, lastNumber, totalLength);
-
-            return base + calculateLuhnCheckDigit(base);
+            return binRangeRegistry.issuingBin(type);
         }
 
-        private static String buildBaseNumber(String prefix, Long ownerId, String lastNumber, int totalLength) {
-            String ownerIdPart = formatOwnerId(ownerId);
-            int sequence = 0;
-
-            if (lastNumber != null && lastNumber.startsWith(prefix)) {
-                sequence = extractSequence(lastNumber, prefix, ownerIdPart) + 1;
+        public String generate(CardType type, int sequence) {
+            String blockKey = blockKey(type);
+            if (sequence < 0 || sequence > MAX_SEQUENCE) {
+                throw new IllegalStateException("Card sequence out of range for " + blockKey + ": " + sequence);
             }
+            validateLength(blockKey.length() + SEQUENCE_LENGTH, type.getLength());
 
-            if (sequence > MAX_SEQUENCE) {
-                throw new IllegalStateException("Max card sequence reached for owner: " + ownerId);
-            }
-
-            String sequencePart = String.format("%0" + SEQUENCE_LENGTH + "d", sequence);
-            String base = prefix + ownerIdPart + sequencePart;
-
-            validateLength(base, totalLength);
-            return base;
-        }
-
-        private static String formatOwnerId(Long ownerId) {
-            String idString = ownerId.toString();
-            String trimmed = idString.substring(Math.max(0, idString.length() - OWNER_ID_LENGTH));
-            return String.format("%0" + OWNER_ID_LENGTH + "d", Long.parseLong(trimmed));
-        }
-
-        private static int extractSequence(String lastNumber, String prefix, String ownerIdPart) {
-            try {
-                int ownerIdStart = prefix.length();
-                int ownerIdEnd = ownerIdStart + OWNER_ID_LENGTH;
-
-                if (!lastNumber.substring(ownerIdStart, ownerIdEnd).equals(ownerIdPart)) {
-                    return 0;
-                }
-
-                String sequencePart = lastNumber.substring(ownerIdEnd, ownerIdEnd + SEQUENCE_LENGTH);
-                return Integer.parseInt(sequencePart);
-            } catch (Exception e) {
-                log.warn("Error extracting sequence from: {}", lastNumber);
-                return 0;
+            String number = CardNumberCodec.compose(blockKey, sequence, SEQUENCE_LENGTH);
+            if (binRangeRegistry.classify(number) != type) {
+                throw new IllegalStateException("Card number " + CardNumberCodec.mask(number) + " is not a " + type);
             }
+            return number;
         }
 
-        private static void validateLength(String base, int totalLength) {
-            if (base.length() != totalLength - 1) {
+        private static void validateLength(int baseLength, int totalLength) {
+            if (baseLength != totalLength - 1) {
                 throw new IllegalStateException(
-                        "Invalid base length: " + base.length() +
+                        "Invalid base length: " + baseLength +
                                 " for required total: " + totalLength
                 );
             }
         }
 
         public static int calculateLuhnCheckDigit(String numberWithoutCheckDigit) {
-            int sum = 0;
-            boolean alternate = true;
-
-            for (int i = numberWithoutCheckDigit.length() - 1; i >= 0; i--) {
-                int n = Character.getNumericValue(numberWithoutCheckDigit.charAt(i));
-                if (alternate) {
-                    n *= 2;
-                    if (n > 9) n -= 9;
-                }
-                sum += n;
-                alternate = !alternate;
-            }
-
-            return (10 - (sum % 10)) % 10;
+            return CardNumberCodec.luhnCheckDigit(numberWithoutCheckDigit);
         }
     }
\ No newline at end of file
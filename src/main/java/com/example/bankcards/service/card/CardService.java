@@ -1,26 +1,48 @@
 package com.example.bankcards.service.card;
 
 import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.request.CardIssueRequest;
+import com.example.bankcards.dto.request.CardStatusChangeRequest;
 import com.example.bankcards.dto.request.CardTypeRequest;
 import com.example.bankcards.dto.response.BalanceResponse;
 import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.CardStatusChangeResponse;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.entity.enums.CardStatus;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface CardService {
 
     CardResponse create(Long ownerId, CardTypeRequest cardResponse);
 
+    List<CardResponse> createAll(List<CardIssueRequest> cardIssueRequests);
+
     CardResponse changeStatus(Long ownerId, CardStatus cardStatus);
 
+    CardStatusChangeResponse changeStatuses(CardStatusChangeRequest cardStatusChangeRequest);
+
     void deleteCard(Long cardId);
 
     CardResponse findCardById(Long cardId);
 
+    CardResponse findOwnCardById(Long cardId);
+
     CardResponse blockCard(Long cardId);
 
+    CardResponse blockOwnCard(Long cardId);
+
     BalanceResponse getBalance(Long cardId);
 
     Page<CardResponse> getAllCards(CardFilter cardFilter);
 
+    Page<CardResponse> searchCards(CardFilter cardFilter);
+
+    CursorPage<CardResponse> getAllCardsByCursor(CardFilter cardFilter);
+
+    Page<CardResponse> getOwnCards(CardFilter cardFilter);
+
+    CursorPage<CardResponse> getOwnCardsByCursor(CardFilter cardFilter);
+
 }
\ No newline at end of file
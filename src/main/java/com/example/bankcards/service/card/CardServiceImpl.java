@@ -1,9 +1,15 @@
 package com.example.bankcards.service.card;
 
+import com.example.bankcards.dto.CardBalance;
+import com.example.bankcards.dto.EncryptedCardNumber;
 import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.request.CardIssueRequest;
+import com.example.bankcards.dto.request.CardStatusChangeRequest;
 import com.example.bankcards.dto.request.CardTypeRequest;
 import com.example.bankcards.dto.response.BalanceResponse;
 import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.CardStatusChangeResponse;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.CardStatus;
@@ -12,26 +18,55 @@ import com.example.bankcards.entity.enums.Role;
 import com.example.bankcards.exception.CardNotFoundException;
 import com.example.bankcards.exception.UserNotFoundException;
 import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardSpecifications;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.CurrentUser;
+import com.example.bankcards.util.CardNumberCodec;
+import com.example.bankcards.util.Cursor;
 import com.example.bankcards.util.mapper.CardMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CardServiceImpl implements CardService {
+
+    private static final int ISSUE_CHUNK_SIZE = 1000;
+    private static final int STATUS_CHUNK_SIZE = 1000;
+
     private final CardRepository cardRepository;
     private final CardMapper cardMapper;
     private final UserRepository userRepository;
-    private final CardNumberGenerate cardNumberGenerate;
+    private final CardNumberAllocator cardNumberAllocator;
+    private final CardNumberCipher cardNumberCipher;
+    private final CurrentUser currentUser;
+    private final CardBalanceCache cardBalanceCache;
+    private final EntityManager entityManager;
 
 
     @Override
@@ -39,23 +74,51 @@ public class CardServiceImpl implements CardService {
         log.debug("Create Card");
         User user = userRepository.findById(ownerId).orElseThrow(() -> new UserNotFoundException("User not found" + ownerId));
         CardType cardType = cardTypeRequest.getCardType();
-        String cardNumberCreate = Card.builder().build().getCardNumber();
-        String cardNumber = cardNumberGenerate.generate(cardType, ownerId, cardNumberCreate);
-        LocalDateTime expiration = LocalDateTime.now().plusYears(5);
-        Card card = Card.builder()
-                .cardNumber(cardNumber)
-                .cardStatus(CardStatus.ACTIVE)
-                .owner(user)
-                .expirationDate(expiration)
-                .isDeleted(false)
-                .cardType(cardType)
-                .balance(BigDecimal.ZERO)
-                .build();
+        String number = cardNumberAllocator.allocate(cardType);
+        Card card = newCard(user, cardType, number, LocalDateTime.now().plusYears(5));
         Card savedCard = cardRepository.save(card);
         log.debug("Card created");
         return cardMapper.toDto(savedCard);
     }
 
+    /**
+     * Issues all cards in one transaction: owners are checked with one query, numbers are
+     * allocated per card type, and cards are inserted in JDBC batches, flushing and
+     * clearing the persistence context every {@link #ISSUE_CHUNK_SIZE} cards.
+     */
+    @Override
+    @Transactional
+    public List<CardResponse> createAll(List<CardIssueRequest> cardIssueRequests) {
+        log.debug("Create {} Cards", cardIssueRequests.size());
+        Set<Long> ownerIds = cardIssueRequests.stream()
+                .map(CardIssueRequest::getOwnerId)
+                .collect(Collectors.toCollection(HashSet::new));
+        ownerIds.removeAll(userRepository.findExistingIds(ownerIds));
+        if (!ownerIds.isEmpty()) {
+            throw new UserNotFoundException("Users not found: " + ownerIds);
+        }
+
+        Map<CardType, Iterator<String>> numbers = new EnumMap<>(CardType.class);
+        cardIssueRequests.stream()
+                .collect(Collectors.groupingBy(CardIssueRequest::getCardType, Collectors.counting()))
+                .forEach((cardType, count) -> numbers.put(cardType, cardNumberAllocator
+                        .allocate(cardType, count.intValue()).iterator()));
+
+        LocalDateTime expiration = LocalDateTime.now().plusYears(5);
+        List<CardResponse> responses = new ArrayList<>(cardIssueRequests.size());
+        List<Card> chunk = new ArrayList<>(ISSUE_CHUNK_SIZE);
+        for (CardIssueRequest request : cardIssueRequests) {
+            User owner = userRepository.getReferenceById(request.getOwnerId());
+            chunk.add(newCard(owner, request.getCardType(), numbers.get(request.getCardType()).next(), expiration));
+            if (chunk.size() == ISSUE_CHUNK_SIZE) {
+                responses.addAll(saveChunk(chunk));
+            }
+        }
+        responses.addAll(saveChunk(chunk));
+        log.debug("Cards created");
+        return responses;
+    }
+
     @Override
     public CardResponse changeStatus(Long ownerId, CardStatus cardStatus) {
         log.debug("Change Card Status");
@@ -69,6 +132,41 @@ public class CardServiceImpl implements CardService {
         return cardMapper.toDto(card);
     }
 
+    /**
+     * Applies the status change in chunks of {@link #STATUS_CHUNK_SIZE} cards, one short
+     * transaction and one set-based UPDATE per chunk. For a filter, each chunk's ids are read
+     * with a keyset query on id, so the filter is evaluated once per chunk and never with OFFSET.
+     */
+    @Override
+    public CardStatusChangeResponse changeStatuses(CardStatusChangeRequest request) {
+        log.debug("Change Card Statuses");
+        long start = System.nanoTime();
+        String status = request.getStatus().name();
+        Map<CardStatus, Long> previousStatuses = new EnumMap<>(CardStatus.class);
+        if (request.getFilter() == null) {
+            List<Long> cardIds = request.getCardIds().stream().distinct().sorted().toList();
+            for (int from = 0; from < cardIds.size(); from += STATUS_CHUNK_SIZE) {
+                List<Long> chunk = cardIds.subList(from, Math.min(from + STATUS_CHUNK_SIZE, cardIds.size()));
+                countStatuses(cardRepository.changeStatuses(chunk, status), previousStatuses);
+            }
+        } else {
+            Specification<Card> specification = CardSpecifications.matching(request.getFilter());
+            List<Long> chunk;
+            long afterId = 0;
+            do {
+                chunk = findCardIdsAfter(specification, afterId);
+                if (!chunk.isEmpty()) {
+                    countStatuses(cardRepository.changeStatuses(chunk, status), previousStatuses);
+                    afterId = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == STATUS_CHUNK_SIZE);
+        }
+        long updated = previousStatuses.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Changed {} cards to {} in {} ms", updated, status,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new CardStatusChangeResponse(request.getStatus(), updated, previousStatuses);
+    }
+
     @Override
     public void deleteCard(Long cardId) {
         log.debug("Delete Card");
@@ -80,38 +178,44 @@ public class CardServiceImpl implements CardService {
     @Override
     public CardResponse findCardById(Long cardId) {
         log.debug("Find Card");
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User not found" + username));
-        Card card = getBankCard(cardId);
-        log.debug("Card found");
-        return cardMapper.toDto(card);
+        return cardRepository.findResponseById(cardId)
+                .orElseThrow(() -> new CardNotFoundException("Not found card by id = " + cardId));
     }
 
     @Override
+    public CardResponse findOwnCardById(Long cardId) {
+        log.debug("Find Own Card");
+        return cardRepository.findOwnCardById(cardId, currentUser.id())
+                .orElseThrow(() -> new CardNotFoundException("Not found card by id = " + cardId));
+    }
+
+    @Override
+    @Transactional
     public CardResponse blockCard(Long cardId) {
         log.debug("Block Card");
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Card card = getBankCard(cardId);
-        checkUsername(card, username);
-        if (card.getCardStatus() == CardStatus.ACTIVE) {
-            log.error("Card is blocked");
-            throw new IllegalStateException("Active card can be blocked");
-        }
-        card.setCardStatus(CardStatus.BLOCKED);
-        card = cardRepository.save(card);
+        return blocked(cardRepository.blockIfActive(cardId), findCardById(cardId));
+    }
 
-        log.debug("Card blocked");
-        return cardMapper.toDto(card);
+    @Override
+    @Transactional
+    public CardResponse blockOwnCard(Long cardId) {
+        log.debug("Block Own Card");
+        return blocked(cardRepository.blockOwnIfActive(cardId, currentUser.id()), findOwnCardById(cardId));
     }
 
     @Override
     public BalanceResponse getBalance(Long cardId) {
         log.debug("Get Balance");
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Card card = getBankCard(cardId);
-        checkUsername(card, username);
-        log.debug("Card found");
-        return new BalanceResponse(cardId, card.getBalance());
+        long requesterId = currentUser.id();
+        CardBalance balance = cardBalanceCache.get(cardId);
+        if (balance == null) {
+            throw new CardNotFoundException("Not found card by id = " + cardId);
+        }
+        if (balance.getOwnerId() != requesterId) {
+            log.error("Card ownership validation failed: cardOwnerId={}, requesterId={}", balance.getOwnerId(), requesterId);
+            throw new CardNotFoundException("Access denied. Card belongs to another user");
+        }
+        return new BalanceResponse(cardId, balance.getBalance());
     }
 
     @Override
@@ -121,18 +225,94 @@ public class CardServiceImpl implements CardService {
         return page.map(cardMapper::toDto);
     }
 
+    @Override
+    public Page<CardResponse> searchCards(CardFilter cardFilter) {
+        log.debug("Search Cards");
+        Page<Card> page = cardRepository.findAll(CardSpecifications.matching(cardFilter),
+                PageRequest.of(cardFilter.getOffset(), cardFilter.getLimit(), Sort.by("id")));
+        return page.map(cardMapper::toDto);
+    }
+
+    @Override
+    public CursorPage<CardResponse> getAllCardsByCursor(CardFilter cardFilter) {
+        log.debug("Get All Cards after cursor");
+        long afterId = Cursor.decode(cardFilter.getCursor());
+        List<Card> cards = cardRepository.findPageAfter(afterId, Limit.of(cardFilter.getLimit() + 1));
+        return CursorPage.of(cards, cardFilter.getLimit(), Card::getId, cardMapper::toDto);
+    }
+
+    @Override
+    public Page<CardResponse> getOwnCards(CardFilter cardFilter) {
+        log.debug("Get Own Cards");
+        return cardRepository.findOwnCards(currentUser.id(), PageRequest.of(cardFilter.getOffset(), cardFilter.getLimit()));
+    }
+
+    @Override
+    public CursorPage<CardResponse> getOwnCardsByCursor(CardFilter cardFilter) {
+        log.debug("Get Own Cards after cursor");
+        long afterId = Cursor.decode(cardFilter.getCursor());
+        List<CardResponse> cards = cardRepository.findOwnCardsAfter(currentUser.id(), afterId,
+                Limit.of(cardFilter.getLimit() + 1));
+        return CursorPage.of(cards, cardFilter.getLimit(), CardResponse::getId, Function.identity());
+    }
+
+    private Card newCard(User owner, CardType cardType, String number, LocalDateTime expiration) {
+        EncryptedCardNumber cardNumber = cardNumberCipher.encrypt(number);
+        return Card.builder()
+                .encryptedCardNumber(cardNumber.getEncryptedCardNumber())
+                .cardNumberHash(cardNumber.getCardNumberHash())
+                .cardMask(cardNumber.getCardMask())
+                .lastFour(number.substring(number.length() - CardNumberCodec.VISIBLE_DIGITS))
+                .cardStatus(CardStatus.ACTIVE)
+                .owner(owner)
+                .expirationDate(expiration)
+                .isDeleted(false)
+                .cardType(cardType)
+                .balance(BigDecimal.ZERO)
+                .build();
+    }
+
+    private List<Long> findCardIdsAfter(Specification<Card> specification, long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Card> card = query.from(Card.class);
+        query.select(card.get("id"))
+                .where(specification.toPredicate(card, query, cb), cb.greaterThan(card.get("id"), afterId))
+                .orderBy(cb.asc(card.get("id")));
+        return entityManager.createQuery(query).setMaxResults(STATUS_CHUNK_SIZE).getResultList();
+    }
+
+    private static void countStatuses(List<Object[]> rows, Map<CardStatus, Long> previousStatuses) {
+        for (Object[] row : rows) {
+            previousStatuses.merge(CardStatus.valueOf((String) row[0]), ((Number) row[1]).longValue(), Long::sum);
+        }
+    }
+
+    private List<CardResponse> saveChunk(List<Card> chunk) {
+        List<CardResponse> responses = cardRepository.saveAll(chunk).stream().map(cardMapper::toDto).toList();
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+        return responses;
+    }
+
     private Card getBankCard(Long cardId) {
         log.debug("Get Bank Card");
         return cardRepository.findById(cardId)
                 .orElseThrow(() -> new CardNotFoundException("Not found card by id = " + cardId));
     }
 
-    private void checkUsername(Card card, String username) {
-        if (!card.getOwner().getUsername().equals(username)) {
-            log.error("Card ownership validation failed: cardOwner={}, requester={}",
-                    card.getOwner().getUsername(), username);
-            throw new CardNotFoundException("Access denied. Card belongs to another user");
+    /**
+     * Result of a conditional block. The card is read after the update, so a missing card has
+     * already failed the lookup; a card that exists but was not updated is active.
+     */
+    private CardResponse blocked(int updated, CardResponse card) {
+        if (updated == 0) {
+            log.error("Card is not active");
+            throw new IllegalStateException("Only an active card can be blocked");
         }
+        log.debug("Card blocked");
+        return card;
     }
 
     private void checkRoleAdmin(User user) {
@@ -0,0 +1,154 @@
+package com.example.bankcards.service.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    CSV("text/csv", "csv") {
+        @Override
+        RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            return new CsvRowWriter(out, columns);
+        }
+    },
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonRowWriter(objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8), columns);
+        }
+    };
+
+    private final String mediaType;
+    private final String extension;
+
+    abstract RowWriter open(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Writes one row per call and flushes on {@link #finish()}; never closes the target stream.
+     */
+    interface RowWriter {
+
+        void write(Object[] row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV: a header line, CRLF line ends, and fields quoted only when they contain a
+     * comma, a quote or a line break. Text that a spreadsheet would read as a formula, such as a
+     * username starting with {@code =}, gets a leading {@code '} so that it is shown as text.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out, List<String> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            write(columns.toArray());
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(row[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (value instanceof String && startsLikeFormula(text)) {
+                text = "'" + text;
+            }
+            if (!needsQuoting(text)) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+
+        private static boolean startsLikeFormula(String text) {
+            if (text.isEmpty()) {
+                return false;
+            }
+            char first = text.charAt(0);
+            return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        }
+
+        private static boolean needsQuoting(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * One JSON object per line. Dates are written as ISO-8601 strings, the same text the CSV
+     * export uses.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final String[] columns;
+
+        private NdjsonRowWriter(JsonGenerator generator, List<String> columns) {
+            this.generator = generator;
+            this.columns = columns.toArray(String[]::new);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < row.length; i++) {
+                generator.writeFieldName(columns[i]);
+                generator.writeObject(row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.bankcards.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    void exportCards(ExportFormat format, OutputStream out) throws IOException;
+
+    void exportUsers(ExportFormat format, OutputStream out) throws IOException;
+}
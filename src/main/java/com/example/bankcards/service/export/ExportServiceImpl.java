@@ -0,0 +1,111 @@
+package com.example.bankcards.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Streams whole tables as CSV or NDJSON. Rows are read as scalar projections through a
+ * forward-only cursor in a read-only transaction of a {@link StatelessSession}, so nothing is
+ * kept in a persistence context and heap use depends on the fetch size, not on the row count.
+ */
+@Service
+@Slf4j
+public class ExportServiceImpl implements ExportService {
+
+    private static final Export CARDS = new Export("cards", "Card c", "c.id", List.of(
+            new Column("id", "c.id"),
+            new Column("cardNumber", "c.cardMask"),
+            new Column("ownerId", "c.owner.id"),
+            new Column("cardType", "c.cardType"),
+            new Column("cardStatus", "c.cardStatus"),
+            new Column("expirationDate", "c.expirationDate"),
+            new Column("balance", "c.balance"),
+            new Column("deleted", "c.isDeleted")));
+
+    private static final Export USERS = new Export("users", "User u", "u.id", List.of(
+            new Column("id", "u.id"),
+            new Column("username", "u.username"),
+            new Column("email", "u.email"),
+            new Column("role", "u.role"),
+            new Column("banned", "u.isBanned"),
+            new Column("createdAt", "u.createdAt"),
+            new Column("updatedAt", "u.updatedAt")));
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ExportServiceImpl(EntityManagerFactory entityManagerFactory,
+                             ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper.copy().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void exportCards(ExportFormat format, OutputStream out) throws IOException {
+        export(CARDS, format, out);
+    }
+
+    @Override
+    public void exportUsers(ExportFormat format, OutputStream out) throws IOException {
+        export(USERS, format, out);
+    }
+
+    private void export(Export export, ExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0;
+        ExportFormat.RowWriter writer = format.open(out, export.names(), objectMapper);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.doWork(connection -> connection.setReadOnly(true));
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Object[]> results = session.createSelectionQuery(export.query(), Object[].class)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    writer.write(results.get());
+                    rows++;
+                }
+                transaction.commit();
+            } finally {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+            }
+        }
+        writer.finish();
+        log.info("Exported {} {} as {} in {} ms", rows, export.name(), format,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private record Column(String name, String expression) {
+    }
+
+    private record Export(String name, String from, String orderBy, List<Column> columns) {
+
+        List<String> names() {
+            return columns.stream().map(Column::name).toList();
+        }
+
+        String query() {
+            return columns.stream().map(Column::expression)
+                    .collect(Collectors.joining(", ", "SELECT ", " FROM " + from + " ORDER BY " + orderBy));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bankcards.service.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Channel for a single node: there is nobody else to notify, so publishing only logs and
+ * subscribers are never called.
+ */
+@Component
+@ConditionalOnProperty(name = "security.invalidation.channel", havingValue = "in-memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryInvalidationChannel implements InvalidationChannel {
+
+    @Override
+    public void publish(String topic, String payload) {
+        log.debug("Publishing invalidation {} to {}", payload, topic);
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.bankcards.service.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidations between nodes. A published payload reaches the subscribers on every other
+ * node but not on the publishing one, which is expected to have applied the change already.
+ */
+public interface InvalidationChannel {
+
+    void publish(String topic, String payload);
+
+    void subscribe(String topic, Consumer<String> listener);
+}
@@ -0,0 +1,138 @@
+package com.example.bankcards.service.invalidation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Spreads invalidations across nodes with Postgres LISTEN/NOTIFY. Listening uses its own
+ * connection opened with {@link DriverManager}, so it never takes a slot in the pool; publishing
+ * goes through the pool with {@code pg_notify}. Each payload is prefixed with a node id so a node
+ * skips the notifications it sent itself.
+ */
+@Component
+@ConditionalOnProperty(name = "security.invalidation.channel", havingValue = "postgres")
+@Slf4j
+public class PostgresInvalidationChannel implements InvalidationChannel {
+
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    private volatile Thread listenerThread;
+    private volatile boolean running;
+    private volatile boolean resubscribe;
+
+    public PostgresInvalidationChannel(DataSource dataSource, DataSourceProperties dataSourceProperties) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::listen, "invalidation-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void publish(String topic, String payload) {
+        log.debug("Publishing invalidation {} to {}", payload, topic);
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, topic, nodeId + "|" + payload);
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> listener) {
+        listeners.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(listener);
+        resubscribe = true;
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        Thread thread = listenerThread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                resubscribe = true;
+                while (running) {
+                    if (resubscribe) {
+                        resubscribe = false;
+                        listenAll(connection);
+                    }
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getName(), notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Invalidation listener connection failed, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listenAll(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String topic : listeners.keySet()) {
+                statement.execute("LISTEN \"" + topic.replace("\"", "\"\"") + "\"");
+            }
+        }
+    }
+
+    private void dispatch(String topic, String message) {
+        int separator = message.indexOf('|');
+        if (separator < 0 || message.startsWith(nodeId + "|")) {
+            return;
+        }
+        String payload = message.substring(separator + 1);
+        for (Consumer<String> listener : listeners.getOrDefault(topic, List.of())) {
+            try {
+                listener.accept(payload);
+            } catch (RuntimeException e) {
+                log.error("Invalidation listener for {} failed: {}", topic, e.getMessage(), e);
+            }
+        }
+    }
+}
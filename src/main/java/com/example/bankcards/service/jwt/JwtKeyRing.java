@@ -0,0 +1,156 @@
+package com.example.bankcards.service.jwt;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.config.JwtKeyRingConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access token keys indexed by {@code kid}. Every configured key is accepted for verification, so
+ * a new key can be introduced and made active while tokens signed with the previous one are still
+ * valid. Tokens without a {@code kid} are verified with the legacy {@code access_secret} while it
+ * signs new tokens; once a key ring key is active, only until {@code legacy-accepted-until}.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private static final int EC_P256_COORDINATE_BYTES = 32;
+
+    private final Key legacyKey;
+    private final Instant legacyAcceptedUntil;
+    private final Map<String, Key> verificationKeys;
+    private final List<Map<String, Object>> jwks;
+
+    @Getter
+    private final String activeKid;
+    @Getter
+    private final Key signingKey;
+    @Getter
+    private final SignatureAlgorithm signatureAlgorithm;
+
+    public JwtKeyRing(JwtConfig jwtConfig, JwtKeyRingConfig keyRingConfig) {
+        this.legacyKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtConfig.getAccess_secret()));
+
+        Map<String, Key> keys = new HashMap<>();
+        List<Map<String, Object>> publicKeys = new ArrayList<>();
+        Key activeKey = null;
+        SignatureAlgorithm activeAlgorithm = null;
+        for (JwtKeyRingConfig.Key key : keyRingConfig.getKeys()) {
+            SignatureAlgorithm algorithm = SignatureAlgorithm.forName(key.getAlgorithm());
+            boolean active = key.getKid().equals(keyRingConfig.getActiveKid());
+            if (algorithm == SignatureAlgorithm.HS256) {
+                Key secret = Keys.hmacShaKeyFor(Decoders.BASE64.decode(key.getSecret()));
+                keys.put(key.getKid(), secret);
+                if (active) {
+                    activeKey = secret;
+                }
+            } else if (algorithm == SignatureAlgorithm.ES256) {
+                ECPublicKey publicKey = (ECPublicKey) decode(key.getKid(), key.getPublicKey(), false);
+                keys.put(key.getKid(), publicKey);
+                publicKeys.add(toJwk(key.getKid(), publicKey));
+                if (active) {
+                    activeKey = decode(key.getKid(), key.getPrivateKey(), true);
+                }
+            } else {
+                throw new IllegalStateException("Unsupported JWT algorithm " + key.getAlgorithm() + " for key " + key.getKid());
+            }
+            if (active) {
+                activeAlgorithm = algorithm;
+            }
+        }
+
+        if (keyRingConfig.getActiveKid() != null && activeKey == null) {
+            throw new IllegalStateException("Active JWT key " + keyRingConfig.getActiveKid() + " is not configured");
+        }
+        this.verificationKeys = Map.copyOf(keys);
+        this.jwks = Collections.unmodifiableList(publicKeys);
+        this.activeKid = activeKey == null ? null : keyRingConfig.getActiveKid();
+        this.signingKey = activeKey == null ? legacyKey : activeKey;
+        this.signatureAlgorithm = activeKey == null ? SignatureAlgorithm.HS256 : activeAlgorithm;
+        this.legacyAcceptedUntil = activeKey == null ? Instant.MAX : keyRingConfig.getLegacyAcceptedUntil();
+        log.debug("JWT key ring loaded with {} keys, active kid {}", verificationKeys.size(), activeKid);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyAcceptedUntil == null || !Instant.now().isBefore(legacyAcceptedUntil)) {
+                throw new SecurityException("JWT without key id is no longer accepted");
+            }
+            return legacyKey;
+        }
+        Key key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SecurityException("Unknown JWT key id " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Public keys in JWK form; HMAC secrets are never published.
+     */
+    public List<Map<String, Object>> getJwks() {
+        return jwks;
+    }
+
+    private static Key decode(String kid, String base64, boolean privateKey) {
+        if (base64 == null) {
+            throw new IllegalStateException("Missing " + (privateKey ? "private" : "public") + " key for JWT key " + kid);
+        }
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            byte[] encoded = Base64.getDecoder().decode(base64);
+            return privateKey
+                    ? keyFactory.generatePrivate(new PKCS8EncodedKeySpec(encoded))
+                    : keyFactory.generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid EC key for JWT key " + kid, e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[EC_P256_COORDINATE_BYTES];
+        int length = Math.min(bytes.length, EC_P256_COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, padded, EC_P256_COORDINATE_BYTES - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(padded);
+    }
+}
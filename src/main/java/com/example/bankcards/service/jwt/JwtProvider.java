@@ -1,17 +1,27 @@
 package com.example.bankcards.service.jwt;
 
 import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -19,74 +29,135 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class JwtProvider {
+    private static final String AUTHORITIES_CLAIM = "authorities";
+    private static final String USER_ID_CLAIM = "uid";
+
     private final JwtConfig jwtConfig;
+    private final JwtKeyRing keyRing;
+    private final MeterRegistry meterRegistry;
 
-    public <T> T extractClaims(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    private SecretKey refreshSecretKey;
+    private JwtParser accessTokenParser;
+    private JwtParser refreshTokenParser;
 
-    public String extractUsername(String token) {
-        return extractClaims(token, Claims::getSubject);
+    @PostConstruct
+    public void init() {
+        refreshSecretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtConfig.getRefresh_secret()));
+        accessTokenParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+        refreshTokenParser = Jwts.parserBuilder()
+                .setSigningKey(refreshSecretKey)
+                .build();
     }
 
-    public boolean validateToken(String token) {
+    public Optional<VerifiedToken> verify(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getAccessSecretKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (SecurityException | MalformedJwtException e) {
-            log.error("Invalid JWT signature or malformed token: {}", e.getMessage());
+            Claims claims = accessTokenParser.parseClaimsJws(token).getBody();
+            return Optional.of(toVerifiedToken(claims));
+        } catch (SecurityException e) {
+            log.error("Invalid JWT signature: {}", e.getMessage());
+            countFailure("bad_signature");
+        } catch (MalformedJwtException e) {
+            log.error("JWT token is malformed: {}", e.getMessage());
+            countFailure("malformed");
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
+            countFailure("expired");
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+            countFailure("unsupported");
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+            countFailure("empty");
+        } catch (JwtException e) {
+            log.error("JWT token is invalid: {}", e.getMessage());
+            countFailure("invalid");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    private void countFailure(String cause) {
+        meterRegistry.counter("jwt.validation.failures", "cause", cause).increment();
+    }
+
+    public Optional<Claims> verifyRefreshToken(String token) {
+        try {
+            return Optional.of(refreshTokenParser.parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid refresh token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public <T> T extractClaims(String token, Function<Claims, T> claimsResolver) {
+        final Claims claims = extractAllClaims(token);
+        return claimsResolver.apply(claims);
+    }
+
+    public String extractUsername(String token) {
+        return extractClaims(token, Claims::getSubject);
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token).isPresent();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getAccessSecretKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return accessTokenParser.parseClaimsJws(token).getBody();
     }
 
     public String generateAccessToken(UserDetails user) {
         long now = System.currentTimeMillis();
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (keyRing.getActiveKid() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKid());
+        }
+        if (user instanceof User entity) {
+            builder.claim(USER_ID_CLAIM, entity.getId());
+        }
+        return builder
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getUsername())
-                .claim("authorities", user.getAuthorities().stream()
+                .claim(AUTHORITIES_CLAIM, user.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toList()))
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + jwtConfig.getAccess_expiration() * 1000L))
-                .signWith(getAccessSecretKey())
+                .signWith(keyRing.getSigningKey(), keyRing.getSignatureAlgorithm())
                 .compact();
     }
 
     public String generateRefreshToken(UserDetails user) {
         long now = System.currentTimeMillis();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getUsername())
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + jwtConfig.getRefresh_expiration() * 1000L))
-                .signWith(getRefreshSecretKey())
+                .signWith(refreshSecretKey)
                 .compact();
     }
 
-    private SecretKey getAccessSecretKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtConfig.getAccess_secret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.get(USER_ID_CLAIM, Long.class),
+                toAuthorities(claims.get(AUTHORITIES_CLAIM, List.class)),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
     }
 
-    private SecretKey getRefreshSecretKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtConfig.getRefresh_secret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static List<GrantedAuthority> toAuthorities(List<?> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(values.size());
+        for (Object value : values) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(value)));
+        }
+        return Collections.unmodifiableList(authorities);
     }
 }
@@ -1,7 +1,7 @@
 package com.example.bankcards.service.jwt;
 
+import com.example.bankcards.config.JwtConfig;
 import com.example.bankcards.dto.response.TokenResponse;
-import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.entity.Token;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.exception.InvalidTokenException;
@@ -13,6 +13,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -22,38 +29,70 @@ public class JwtServiceImpl implements JwtService {
     private final UserRepository userRepository;
     private final JwtProvider jwtProvider;
     private final TokenRepository tokenRepository;
+    private final JwtConfig jwtConfig;
 
     @Override
     public TokenResponse generateToken(User user) {
         log.debug("Generating token");
-        String accessToken = jwtProvider.generateAccessToken(user);
-        String refreshToken = jwtProvider.generateRefreshToken(user);
-        saveToken(user.getUsername(), refreshToken);
+        TokenResponse tokenResponse = issueTokens(user, UUID.randomUUID());
         log.debug("Generated token");
-        return TokenResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .userId(user.getId())
-                .build();
+        return tokenResponse;
     }
 
     @Override
+    @Transactional(noRollbackFor = InvalidTokenException.class)
     public TokenResponse regenerateToken(String token) {
         log.debug("Regenerating token");
-        if(!jwtProvider.validateToken(token)) {
+        if (jwtProvider.verifyRefreshToken(token).isEmpty()) {
             throw new InvalidTokenException("Invalid token");
         }
-        String username = jwtProvider.extractAllClaims(token).getSubject();
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User not found" + username));
+        Token storedToken = tokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new InvalidTokenException("Unknown refresh token"));
+        if (storedToken.isRevoked()) {
+            throw new InvalidTokenException("Refresh token is revoked");
+        }
+        if (tokenRepository.markUsed(storedToken.getId()) == 0) {
+            log.warn("Refresh token reuse detected, revoking token family {}", storedToken.getFamilyId());
+            tokenRepository.revokeFamily(storedToken.getFamilyId());
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+        User user = userRepository.findById(storedToken.getUserId())
+                .orElseThrow(() -> new UserNotFoundException("User not found" + storedToken.getUserId()));
+        if (!user.isEnabled()) {
+            tokenRepository.revokeFamily(storedToken.getFamilyId());
+            throw new InvalidTokenException("User is banned");
+        }
         log.debug("Regenerated token");
-        return generateToken(user);
+        return issueTokens(user, storedToken.getFamilyId());
     }
 
-    private void saveToken(String username, String token) {
+    private TokenResponse issueTokens(User user, UUID familyId) {
+        String accessToken = jwtProvider.generateAccessToken(user);
+        String refreshToken = jwtProvider.generateRefreshToken(user);
+        saveToken(user.getId(), familyId, refreshToken);
+        return TokenResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(refreshToken)
+                .userId(user.getId())
+                .build();
+    }
+
+    private void saveToken(long userId, UUID familyId, String token) {
         log.debug("Saving token");
-        if(!userRepository.existsByUsername(username)) {
-            throw new UserNotFoundException("User not found" + username);
+        tokenRepository.save(Token.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .userId(userId)
+                .expiresAt(LocalDateTime.now().plusSeconds(jwtConfig.getRefresh_expiration()))
+                .build());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        tokenRepository.save(new Token(username, token));
     }
-}
\ No newline at end of file
+}
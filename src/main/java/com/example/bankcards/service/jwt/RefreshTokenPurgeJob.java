@@ -0,0 +1,38 @@
+package com.example.bankcards.service.jwt;
+
+import com.example.bankcards.repository.TokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenPurgeJob {
+
+    private final TokenRepository tokenRepository;
+
+    @Value("${security.jwt.refresh-purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${security.jwt.refresh-purge.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(fixedDelayString = "${security.jwt.refresh-purge.interval:PT10M}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = tokenRepository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        log.debug("Purged {} expired refresh tokens", total);
+    }
+}
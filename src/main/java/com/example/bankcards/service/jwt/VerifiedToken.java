@@ -0,0 +1,24 @@
+package com.example.bankcards.service.jwt;
+
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+@Value
+public class VerifiedToken {
+
+    String id;
+
+    String subject;
+
+    /** Id of the subject, or null for tokens issued before the uid claim existed. */
+    Long userId;
+
+    List<GrantedAuthority> authorities;
+
+    Instant issuedAt;
+
+    Instant expiration;
+}
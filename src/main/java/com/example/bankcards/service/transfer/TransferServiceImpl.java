@@ -9,10 +9,13 @@ import com.example.bankcards.entity.enums.TransferStatus;
 import com.example.bankcards.exception.TransferException;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.service.card.CardBalanceChangedEvent;
 import com.example.bankcards.util.mapper.TransferMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,8 +28,10 @@ public class TransferServiceImpl implements TransferService {
     private final TransferRepository transferRepository;
     private final CardRepository cardRepository;
     private final TransferMapper transferMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional
     public TransferResponse transfer(TransferResponse transferResponse) {
         log.info("Transfer request received");
         Card toCard = cardRepository.findById(transferResponse.getToCardId()).orElseThrow();
@@ -47,7 +52,8 @@ public class TransferServiceImpl implements TransferService {
         fromCard.setBalance(fromCard.getBalance().subtract(amount));
 
         log.debug("Transfer to card balance: {}", toCardBalance);
-        cardRepository.saveAll(List.of(fromCard, toCard));
+        cardRepository.saveAll(List.of(fromCard, toCard))
+                .forEach(card -> eventPublisher.publishEvent(new CardBalanceChangedEvent(card)));
 
         transferResponse.setStatus(TransferStatus.COMPLETED);
         transferResponse.setCreatedAt(LocalDateTime.now());
@@ -62,6 +68,7 @@ public class TransferServiceImpl implements TransferService {
     }
 
     @Override
+    @Transactional
     public void cancelTransfer(TransferResponse transferResponse) {
         log.debug("Transfer request received");
         Transfer transfer = transferMapper.toEntity(transferResponse);
@@ -74,7 +81,7 @@ public class TransferServiceImpl implements TransferService {
         Card fromCard = transfer.getFromCard();
 
         fromCard.setBalance(fromCard.getBalance().add(transferAmount));
-        cardRepository.save(fromCard);
+        eventPublisher.publishEvent(new CardBalanceChangedEvent(cardRepository.save(fromCard)));
 
         transfer.setStatus(TransferStatus.FAILED);
 
@@ -0,0 +1,35 @@
+package com.example.bankcards.service.user;
+
+import com.example.bankcards.service.invalidation.InvalidationChannel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserAccessBroadcaster {
+
+    static final String TOPIC = "user_access_revoked";
+
+    private final InvalidationChannel invalidationChannel;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationChannel.subscribe(TOPIC, username ->
+                eventPublisher.publishEvent(new UserAccessRevokedEvent(username, true)));
+    }
+
+    @EventListener
+    public void onUserAccessRevoked(UserAccessRevokedEvent event) {
+        if (event.isRemote()) {
+            return;
+        }
+        log.debug("Broadcasting access revocation of user {}", event.getUsername());
+        invalidationChannel.publish(TOPIC, event.getUsername());
+    }
+}
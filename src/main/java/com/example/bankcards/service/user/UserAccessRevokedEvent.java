@@ -0,0 +1,19 @@
+package com.example.bankcards.service.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class UserAccessRevokedEvent {
+
+    private final String username;
+
+    private final boolean remote;
+
+    public UserAccessRevokedEvent(String username) {
+        this(username, false);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.bankcards.service.user;
+
+import com.example.bankcards.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final Cache<String, User> cache;
+
+    public UserDetailsCache(@Value("${security.user-cache.maximum-weight:10000000}") long maximumWeight,
+                            @Value("${security.user-cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(UserDetailsCache::weigh)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public User get(String username, Function<String, User> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void invalidate(String username) {
+        log.debug("Invalidating cached user {}", username);
+        cache.invalidate(username);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void onUserAccessRevoked(UserAccessRevokedEvent event) {
+        invalidate(event.getUsername());
+    }
+
+    private static int weigh(String username, User user) {
+        return ENTRY_OVERHEAD + 2 * (length(username) + length(user.getPassword()) + length(user.getEmail()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.bankcards.service.user;
 
 import com.example.bankcards.dto.filter.UserFilter;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.dto.response.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,4 +22,6 @@ public interface UserService extends UserDetailsService {
     void banUserByIds(long id);
 
     Page<UserResponse> getAllUsers(UserFilter userFilter);
+
+    CursorPage<UserResponse> getAllUsersByCursor(UserFilter userFilter);
 }
\ No newline at end of file
@@ -1,18 +1,25 @@
 package com.example.bankcards.service.user;
 
 import com.example.bankcards.dto.filter.UserFilter;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.exception.UserNotFoundException;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.util.Cursor;
 import com.example.bankcards.util.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -20,11 +27,14 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) {
         log.debug("loadUserByUsername");
-        return userRepository.findByUsername(username).orElseThrow(() -> {return new UserNotFoundException(username);});
+        return userDetailsCache.get(username, name ->
+                userRepository.findByUsername(name).orElseThrow(() -> new UserNotFoundException(name)));
     }
 
     @Override
@@ -49,7 +59,9 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUser(long id) {
         log.debug("Deleting user: {}", id);
+        Optional<String> username = userRepository.findById(id).map(User::getUsername);
         userRepository.deleteById(id);
+        username.ifPresent(name -> eventPublisher.publishEvent(new UserAccessRevokedEvent(name)));
         log.debug("Deleted user: {}", id);
     }
 
@@ -59,6 +71,7 @@ public class UserServiceImpl implements UserService {
         User user = findById(id);
         user.setIsBanned(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessRevokedEvent(user.getUsername()));
         log.debug("Banned user: {}", id);
     }
 
@@ -69,6 +82,14 @@ public class UserServiceImpl implements UserService {
         return page.map(userMapper::toDto);
     }
 
+    @Override
+    public CursorPage<UserResponse> getAllUsersByCursor(UserFilter userFilter) {
+        log.debug("get all users after cursor");
+        long afterId = Cursor.decode(userFilter.getCursor());
+        List<User> users = userRepository.findPageAfter(afterId, Limit.of(userFilter.getLimit() + 1));
+        return CursorPage.of(users, userFilter.getLimit(), User::getId, userMapper::toDto);
+    }
+
     public User findById(Long id) {
         log.debug("find by user: {}", id);
         return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException("User not found" + id));
@@ -0,0 +1,126 @@
+package com.example.bankcards.util;
+
+/**
+ * Card number arithmetic on primitive arrays: Luhn, zero padding, masking and BIN extraction.
+ * Each method allocates at most the String it returns.
+ */
+public final class CardNumberCodec {
+
+    public static final int BIN_LENGTH = 6;
+    public static final int VISIBLE_DIGITS = 4;
+    private static final int GROUP = 4;
+
+    private static final int[] DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+
+    private CardNumberCodec() {
+    }
+
+    /**
+     * Check digit that makes {@code digits} followed by it pass the Luhn test.
+     */
+    public static int luhnCheckDigit(CharSequence digits) {
+        return (10 - luhnSum(digits, digits.length(), true) % 10) % 10;
+    }
+
+    public static boolean isLuhnValid(CharSequence number) {
+        int length = number.length();
+        return length > 1 && luhnSum(number, length, false) % 10 == 0;
+    }
+
+    /**
+     * Builds {@code prefix}, then {@code value} zero-padded to {@code width} digits, then the Luhn
+     * check digit.
+     */
+    public static String compose(CharSequence prefix, long value, int width) {
+        int prefixLength = prefix.length();
+        char[] number = new char[prefixLength + width + 1];
+        for (int i = 0; i < prefixLength; i++) {
+            number[i] = prefix.charAt(i);
+        }
+        writeDigits(number, prefixLength, value, width);
+
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = number.length - 2; i >= 0; i--) {
+            int digit = digit(number[i]);
+            sum += doubled ? DOUBLED[digit] : digit;
+            doubled = !doubled;
+        }
+        number[number.length - 1] = (char) ('0' + (10 - sum % 10) % 10);
+        return new String(number);
+    }
+
+    /**
+     * {@code value} zero-padded to {@code width} digits, keeping only the lowest {@code width}
+     * digits when it is longer.
+     */
+    public static String zeroPad(long value, int width) {
+        char[] digits = new char[width];
+        writeDigits(digits, 0, value, width);
+        return new String(digits);
+    }
+
+    /**
+     * Masks all but the last four digits in groups of four, e.g. {@code **** **** ****7890}.
+     */
+    public static String mask(CharSequence number) {
+        if (number == null) {
+            return null;
+        }
+        int length = number.length();
+        int masked = length - VISIBLE_DIGITS;
+        if (masked <= 0) {
+            return number.toString();
+        }
+        int spaces = (masked - 1) / GROUP;
+        char[] result = new char[length + spaces];
+        int position = 0;
+        for (int i = 0; i < masked; i++) {
+            result[position++] = '*';
+            if ((i + 1) % GROUP == 0 && i != masked - 1) {
+                result[position++] = ' ';
+            }
+        }
+        for (int i = masked; i < length; i++) {
+            result[position++] = number.charAt(i);
+        }
+        return new String(result);
+    }
+
+    public static String bin(CharSequence number) {
+        if (number.length() < BIN_LENGTH) {
+            throw new IllegalArgumentException("Card number is shorter than a BIN");
+        }
+        return number.subSequence(0, BIN_LENGTH).toString();
+    }
+
+    private static int luhnSum(CharSequence digits, int end, boolean doubleLast) {
+        int sum = 0;
+        boolean doubled = doubleLast;
+        for (int i = end - 1; i >= 0; i--) {
+            int digit = digit(digits.charAt(i));
+            sum += doubled ? DOUBLED[digit] : digit;
+            doubled = !doubled;
+        }
+        return sum;
+    }
+
+    private static void writeDigits(char[] target, int offset, long value, int width) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must not be negative: " + value);
+        }
+        long remaining = value;
+        for (int i = offset + width - 1; i >= offset; i--) {
+            target[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+    }
+
+    private static int digit(char c) {
+        int digit = c - '0';
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Not a digit: " + c);
+        }
+        return digit;
+    }
+}
@@ -9,7 +9,11 @@ import org.mapstruct.ReportingPolicy;
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface CardMapper {
 
+    @Mapping(target = "cardMask", source = "cardNumber")
     Card toEntity(CardResponse cardResponse);
 
+    @Mapping(target = "cardNumber", source = "cardMask")
+    @Mapping(target = "cardTypeCode", source = "cardType.typeCode")
+    @Mapping(target = "ownerId", source = "owner.id")
     CardResponse toDto(Card card);
 }
\ No newline at end of file
@@ -9,6 +9,8 @@ import org.mapstruct.ReportingPolicy;
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface TransferMapper {
 
+    @Mapping(target = "fromCardId", source = "fromCard.id")
+    @Mapping(target = "toCardId", source = "toCard.id")
     TransferResponse toDto(Transfer transfer);
 
     Transfer toEntity(TransferResponse transferResponse);
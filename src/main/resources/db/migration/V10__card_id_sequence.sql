@@ -0,0 +1,4 @@
+-- Card ids come from a sequence that Hibernate reserves fifty values at a time, so card inserts can be batched.
+CREATE SEQUENCE IF NOT EXISTS cards_seq INCREMENT BY 50;
+
+SELECT setval('cards_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM cards));
@@ -0,0 +1,2 @@
+-- Optimistic lock on cards; the balance cache also uses it to order balance updates.
+ALTER TABLE cards ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
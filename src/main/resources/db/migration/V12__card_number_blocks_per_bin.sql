@@ -0,0 +1,9 @@
+-- Numbers are now BIN + nine sequence digits, with one block per BIN. Older numbers spent those
+-- digits on owner part (6) + sequence (3), so each BIN continues above the highest value it reached.
+INSERT INTO card_number_blocks (block_key, next_value)
+SELECT substring(block_key, 1, 6), MAX(CAST(substring(block_key, 7, 6) AS BIGINT) * 1000 + next_value)
+FROM card_number_blocks
+WHERE length(block_key) = 12
+GROUP BY substring(block_key, 1, 6);
+
+DELETE FROM card_number_blocks WHERE length(block_key) = 12;
@@ -0,0 +1,7 @@
+-- Revoked access token ids outlive a restart; a row is only needed until its token would have expired.
+CREATE TABLE revoked_access_tokens (
+  jti VARCHAR(64) PRIMARY KEY,
+  expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_access_tokens_expires_at ON revoked_access_tokens (expires_at);
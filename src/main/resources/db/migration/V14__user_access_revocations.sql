@@ -0,0 +1,14 @@
+-- User epochs outlive a restart; a row is only needed until the last access token issued before it has expired.
+CREATE TABLE user_access_revocations (
+  username VARCHAR(64) PRIMARY KEY,
+  revoked_at TIMESTAMP NOT NULL,
+  expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_user_access_revocations_expires_at ON user_access_revocations (expires_at);
+
+-- Users banned within the default access token lifetime before this table existed.
+INSERT INTO user_access_revocations (username, revoked_at, expires_at)
+SELECT username, updated_at, updated_at + interval '1 day'
+FROM users
+WHERE is_banned AND updated_at >= now() - interval '1 day';
@@ -0,0 +1,39 @@
+-- The schema as Hibernate built it from the entities of the first release, before migrations were
+-- run. Databases created that way have no flyway_schema_history; Flyway baselines them at this
+-- version (spring.flyway.baseline-on-migrate) and applies V4 onwards, new databases start here.
+CREATE TABLE users (
+  id BIGSERIAL PRIMARY KEY,
+  username VARCHAR(64) NOT NULL UNIQUE,
+  password VARCHAR(128) NOT NULL,
+  email VARCHAR(64) NOT NULL UNIQUE,
+  role VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+  is_banned BOOLEAN NOT NULL,
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE cards (
+  id BIGSERIAL PRIMARY KEY,
+  number VARCHAR(255) NOT NULL,
+  owner_id BIGINT NOT NULL REFERENCES users (id),
+  status VARCHAR(50) NOT NULL CHECK (status IN ('ACTIVE', 'BLOCKED', 'EXPIRED')),
+  expiration TIMESTAMP(6) NOT NULL,
+  type VARCHAR(50) NOT NULL CHECK (type IN ('VISA', 'MASTERCARD')),
+  deleted BOOLEAN NOT NULL,
+  balance NUMERIC(38, 2) NOT NULL
+);
+
+CREATE TABLE transfers (
+  id BIGSERIAL PRIMARY KEY,
+  from_card_id BIGINT NOT NULL REFERENCES cards (id),
+  to_card_id BIGINT NOT NULL REFERENCES cards (id),
+  amount NUMERIC(38, 2) NOT NULL,
+  status VARCHAR(50) NOT NULL CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+  created_at TIMESTAMP(6) NOT NULL,
+  updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE tokens (
+  username VARCHAR(255) PRIMARY KEY,
+  refresh_token VARCHAR(255) NOT NULL UNIQUE
+);
@@ -1,6 +0,0 @@
-CREATE TABLE users (
-  id BIGINT PRIMARY KEY,
-  username VARCHAR(50) NOT NULL UNIQUE,
-  password_hash VARCHAR(255) NOT NULL,
-  role VARCHAR(20) NOT NULL
-);
\ No newline at end of file
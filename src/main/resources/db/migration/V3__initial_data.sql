@@ -1,3 +0,0 @@
-INSERT INTO users (id, username, password_hash, role)
-VALUES (1, 'admin@example.com', '$2a$10$...', 'ADMIN'),
-       (2, 'user@example.com', '$2a$10$...', 'USER');
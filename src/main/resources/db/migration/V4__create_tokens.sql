@@ -0,0 +1,17 @@
+-- Refresh tokens are now stored by hash; tokens issued by the old schema cannot be migrated.
+DROP TABLE IF EXISTS tokens;
+
+CREATE TABLE tokens (
+  id BIGSERIAL PRIMARY KEY,
+  token_hash VARCHAR(64) NOT NULL,
+  family_id UUID NOT NULL,
+  user_id BIGINT NOT NULL,
+  expires_at TIMESTAMP NOT NULL,
+  used BOOLEAN NOT NULL DEFAULT FALSE,
+  revoked BOOLEAN NOT NULL DEFAULT FALSE,
+  created_at TIMESTAMP NOT NULL DEFAULT now(),
+  CONSTRAINT uk_tokens_token_hash UNIQUE (token_hash)
+);
+
+CREATE INDEX idx_tokens_family_id ON tokens (family_id);
+CREATE INDEX idx_tokens_expires_at ON tokens (expires_at);
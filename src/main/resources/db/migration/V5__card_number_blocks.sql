@@ -0,0 +1,32 @@
+CREATE TABLE card_number_blocks (
+  block_key VARCHAR(32) PRIMARY KEY,
+  next_value BIGINT NOT NULL
+);
+
+-- The old generator gave every card of one owner and type the same number. The oldest card keeps
+-- it; the others are recorded here with the number they had and lose it, so the unique index can
+-- be built. CardNumberBackfillJob issues the recorded cards new numbers.
+CREATE TABLE card_number_reissues (
+  card_id BIGINT PRIMARY KEY REFERENCES cards (id),
+  number TEXT NOT NULL,
+  detected_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+INSERT INTO card_number_reissues (card_id, number)
+SELECT id, number
+FROM (SELECT id, number, row_number() OVER (PARTITION BY number ORDER BY id) AS position FROM cards) numbered
+WHERE position > 1;
+
+ALTER TABLE cards ALTER COLUMN number DROP NOT NULL;
+UPDATE cards SET number = NULL WHERE id IN (SELECT card_id FROM card_number_reissues);
+
+CREATE UNIQUE INDEX uk_cards_number ON cards (number);
+
+-- Continue each existing BIN and owner part after the highest sequence already issued, including
+-- the sequences of numbers that are about to be reissued.
+INSERT INTO card_number_blocks (block_key, next_value)
+SELECT substring(number, 1, 12), MAX(CAST(substring(number, 13, 3) AS BIGINT)) + 1
+FROM (SELECT number FROM cards WHERE number IS NOT NULL
+      UNION ALL
+      SELECT number FROM card_number_reissues) issued
+GROUP BY substring(number, 1, 12);
@@ -0,0 +1,10 @@
+ALTER TABLE cards ADD COLUMN IF NOT EXISTS number_encrypted TEXT;
+ALTER TABLE cards ADD COLUMN number_hash VARCHAR(64);
+ALTER TABLE cards ADD COLUMN number_mask VARCHAR(32);
+
+-- New cards only store the ciphertext, its blind index and the mask. Encrypting needs the
+-- application's keys, so cards issued before this migration are filled in by
+-- CardNumberBackfillJob on the next start, which also clears their plaintext number.
+ALTER TABLE cards ALTER COLUMN number DROP NOT NULL;
+DROP INDEX IF EXISTS uk_cards_number;
+CREATE UNIQUE INDEX uk_cards_number_hash ON cards (number_hash);
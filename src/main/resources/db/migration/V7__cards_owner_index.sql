@@ -0,0 +1 @@
+CREATE INDEX idx_cards_owner_deleted_status ON cards (owner_id, deleted, status);
@@ -0,0 +1,10 @@
+ALTER TABLE cards ADD COLUMN number_last4 VARCHAR(4);
+-- Cards waiting to be reissued have no number yet; CardNumberBackfillJob sets theirs.
+UPDATE cards SET number_last4 = coalesce(right(coalesce(number_mask, number), 4), '');
+ALTER TABLE cards ALTER COLUMN number_last4 SET NOT NULL;
+
+-- Admin card search only looks at non-deleted cards, so these indexes leave deleted ones out.
+CREATE INDEX idx_cards_active_status_type_expiration ON cards (status, type, expiration) WHERE deleted = false;
+CREATE INDEX idx_cards_active_expiration ON cards (expiration) WHERE deleted = false;
+CREATE INDEX idx_cards_active_balance ON cards (balance) WHERE deleted = false;
+CREATE INDEX idx_cards_active_last4 ON cards (number_last4) WHERE deleted = false;
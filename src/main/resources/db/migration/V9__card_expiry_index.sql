@@ -0,0 +1,2 @@
+-- Only cards the expiry job still has to visit; rows leave the index once they are EXPIRED.
+CREATE INDEX idx_cards_pending_expiry ON cards (expiration) WHERE status <> 'EXPIRED';
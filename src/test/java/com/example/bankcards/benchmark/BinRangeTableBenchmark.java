@@ -0,0 +1,58 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.service.card.BinRangeTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares classifying card numbers with {@link BinRangeTable} against matching the per-type
+ * regexes {@code CardType} used to carry. Run with
+ * {@code mvn -Pbenchmark test -DskipTests -Djmh.args="BinRangeTableBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BinRangeTableBenchmark {
+
+    private static final String VISA_REGEX = "4[0-9]{12,15}";
+    private static final String MASTERCARD_REGEX = "5[1-5][0-9]{14}";
+
+    private final String[] numbers = {
+            "4111110000420005", "5111110000070004", "2223003122003222", "6011000990139424"
+    };
+
+    private BinRangeTable table;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                BinRangeTableBenchmark.class.getResourceAsStream("/bin-ranges.csv"), StandardCharsets.UTF_8)) {
+            table = BinRangeTable.parse(reader);
+        }
+    }
+
+    @Benchmark
+    public CardType classifyRegex() {
+        String number = numbers[index++ & 3];
+        if (Pattern.matches(VISA_REGEX, number)) {
+            return CardType.VISA;
+        }
+        return Pattern.matches(MASTERCARD_REGEX, number) ? CardType.MASTERCARD : null;
+    }
+
+    @Benchmark
+    public CardType classifyTable() {
+        return table.classify(numbers[index++ & 3]);
+    }
+}
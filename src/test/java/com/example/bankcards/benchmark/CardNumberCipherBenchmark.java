@@ -0,0 +1,74 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.service.card.CardNumberCipher;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decrypts a page of card numbers with {@link CardNumberCipher} and, for comparison, with a
+ * {@link Cipher} looked up per number; also times a single encryption and blind index.
+ * Run with {@code mvn -Pbenchmark test -DskipTests -Djmh.args=CardNumberCipherBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CardNumberCipherBenchmark {
+
+    private static final String KEY = "LDZpiRVfEI6Ab6egag+JsGMtb6k80acr33szup4nyXw=";
+    private static final String INDEX_KEY = "iPaTIgPsKIsCAgdB3f4YZzrfksrgP3A7lm+Vzp73aTc=";
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private CardNumberCipher cipher;
+    private SecretKeySpec key;
+    private List<String> page;
+
+    @Setup
+    public void setUp() {
+        cipher = new CardNumberCipher(KEY, INDEX_KEY);
+        key = new SecretKeySpec(Base64.getDecoder().decode(KEY), "AES");
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(cipher.encrypt(String.format("411111%09d1", i)).getEncryptedCardNumber());
+        }
+    }
+
+    @Benchmark
+    public List<String> decryptPage() {
+        return cipher.decryptAll(page);
+    }
+
+    @Benchmark
+    public List<String> decryptPageWithoutPooling() throws Exception {
+        List<String> numbers = new ArrayList<>(page.size());
+        for (String encrypted : page) {
+            byte[] stored = Base64.getDecoder().decode(encrypted);
+            Cipher c = Cipher.getInstance("AES/GCM/NoPadding");
+            c.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, stored, 0, 12));
+            numbers.add(new String(c.doFinal(stored, 12, stored.length - 12), StandardCharsets.US_ASCII));
+        }
+        return numbers;
+    }
+
+    @Benchmark
+    public Object encrypt() {
+        return cipher.encrypt("4111110000420005");
+    }
+
+    @Benchmark
+    public String blindIndex() {
+        return cipher.blindIndex("4111110000420005");
+    }
+}
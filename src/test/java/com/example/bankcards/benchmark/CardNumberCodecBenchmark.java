@@ -0,0 +1,108 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.util.CardNumberCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link CardNumberCodec} with the String-based number handling it replaced: masking a
+ * page of cards, computing a Luhn digit and composing a number from a block key and sequence.
+ * Run with {@code mvn -Pbenchmark test -DskipTests -Djmh.args="CardNumberCodecBenchmark -prof gc"}
+ * to see the allocation rate next to the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CardNumberCodecBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DIGIT_IN_ONE_SECTION = 4;
+
+    private String[] numbers;
+    private String blockKey;
+    private int sequence;
+
+    @Setup
+    public void setUp() {
+        numbers = new String[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            numbers[i] = CardNumberCodec.compose("411111" + CardNumberCodec.zeroPad(i, 6), i, 3);
+        }
+        blockKey = "555555000042";
+        sequence = 417;
+    }
+
+    @Benchmark
+    public int maskPageLegacy() {
+        int length = 0;
+        for (String number : numbers) {
+            length += legacyMask(number).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int maskPageCodec() {
+        int length = 0;
+        for (String number : numbers) {
+            length += CardNumberCodec.mask(number).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int luhnLegacy() {
+        return legacyLuhn(numbers[sequence % PAGE_SIZE]);
+    }
+
+    @Benchmark
+    public int luhnCodec() {
+        return CardNumberCodec.luhnCheckDigit(numbers[sequence % PAGE_SIZE]);
+    }
+
+    @Benchmark
+    public String composeLegacy() {
+        String base = blockKey + String.format("%0" + 3 + "d", sequence);
+        return base + legacyLuhn(base);
+    }
+
+    @Benchmark
+    public String composeCodec() {
+        return CardNumberCodec.compose(blockKey, sequence, 3);
+    }
+
+    private static String legacyMask(String cardNumber) {
+        int maskLength = cardNumber.length() - DIGIT_IN_ONE_SECTION;
+
+        StringBuilder mask = new StringBuilder();
+        for (int i = 0; i < maskLength; i++) {
+            mask.append("*");
+            if ((i + 1) % DIGIT_IN_ONE_SECTION == 0 && i != maskLength - 1) {
+                mask.append(" ");
+            }
+        }
+
+        return mask.append(cardNumber.substring(maskLength)).toString();
+    }
+
+    private static int legacyLuhn(String numberWithoutCheckDigit) {
+        int sum = 0;
+        boolean alternate = true;
+
+        for (int i = numberWithoutCheckDigit.length() - 1; i >= 0; i--) {
+            int n = Character.getNumericValue(numberWithoutCheckDigit.charAt(i));
+            if (alternate) {
+                n *= 2;
+                if (n > 9) n -= 9;
+            }
+            sum += n;
+            alternate = !alternate;
+        }
+
+        return (10 - (sum % 10)) % 10;
+    }
+}
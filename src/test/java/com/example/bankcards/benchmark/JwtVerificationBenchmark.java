@@ -0,0 +1,78 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.config.JwtKeyRingConfig;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.service.jwt.JwtKeyRing;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request JWT cost of the old filter path (two parses, key and parser rebuilt
+ * on every call) with the single-pass {@link JwtProvider#verify(String)}.
+ * Run with {@code mvn -Pbenchmark test -DskipTests -Djmh.args=JwtVerificationBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "zB5T+mVhzCIphUyw+Vq8mtjC3cJJp2JT5YLXPWDmSic=";
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setAccess_secret(SECRET);
+        jwtConfig.setRefresh_secret(SECRET);
+        jwtConfig.setAccess_expiration(3600);
+        jwtConfig.setRefresh_expiration(3600);
+        jwtProvider = new JwtProvider(jwtConfig, new JwtKeyRing(jwtConfig, new JwtKeyRingConfig()), new SimpleMeterRegistry());
+        jwtProvider.init();
+
+        User user = User.builder()
+                .id(1L)
+                .username("tester")
+                .role(Role.USER)
+                .isBanned(false)
+                .build();
+        token = jwtProvider.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyDoubleParse() {
+        String username = legacyParse(token).getSubject();
+        legacyParse(token);
+        return username != null;
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> singlePassVerify() {
+        return jwtProvider.verify(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
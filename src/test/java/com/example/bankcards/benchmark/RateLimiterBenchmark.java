@@ -0,0 +1,57 @@
+package com.example.bankcards.benchmark;
+
+import com.example.bankcards.config.RateLimitConfig;
+import com.example.bankcards.security.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single {@link TokenBucketRateLimiter#tryAcquire} check under contention, with keys
+ * spread over a realistic number of clients.
+ * Run with {@code mvn -Pbenchmark test -DskipTests -Djmh.args=RateLimiterBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private TokenBucketRateLimiter rateLimiter;
+    private RateLimitConfig.Limit limit;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        RateLimitConfig config = new RateLimitConfig();
+        rateLimiter = new TokenBucketRateLimiter(config, new SimpleMeterRegistry());
+
+        limit = new RateLimitConfig.Limit();
+        limit.setCapacity(1_000_000);
+        limit.setRefillPeriod(Duration.ofSeconds(1));
+
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "login|ip|10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return rateLimiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], limit);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long tryAcquireUncontended() {
+        return rateLimiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)], limit);
+    }
+}
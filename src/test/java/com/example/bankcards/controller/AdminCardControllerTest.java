@@ -1,28 +1,42 @@
 package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.request.CardIssueRequest;
+import com.example.bankcards.dto.request.CardStatusChangeRequest;
 import com.example.bankcards.dto.request.CardTypeRequest;
 import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.CardStatusChangeResponse;
 import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.entity.enums.CardType;
 import com.example.bankcards.service.card.CardService;
+import com.example.bankcards.service.export.ExportFormat;
+import com.example.bankcards.service.export.ExportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,6 +50,9 @@ class AdminCardControllerTest {
     @Mock
     private CardService cardService;
 
+    @Mock
+    private ExportService exportService;
+
     @InjectMocks
     private AdminCardController adminCardController;
 
@@ -70,6 +87,86 @@ class AdminCardControllerTest {
                 .andExpect(jsonPath("$.id").value(1L));
     }
 
+    @Test
+    void createCards_ShouldReturnCreatedCards() throws Exception {
+        List<CardIssueRequest> requests = List.of(
+                new CardIssueRequest(1L, CardType.VISA),
+                new CardIssueRequest(2L, CardType.MASTERCARD));
+
+        CardResponse first = new CardResponse();
+        first.setId(1L);
+        first.setOwnerId(1L);
+        CardResponse second = new CardResponse();
+        second.setId(2L);
+        second.setOwnerId(2L);
+
+        Mockito.when(cardService.createAll(requests)).thenReturn(List.of(first, second));
+
+        mockMvc.perform(post("/v1/api/admin/cards/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].ownerId").value(2L));
+    }
+
+    @Test
+    void exportCards_ShouldStreamGzippedCsv_WhenClientAcceptsGzip() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).exportCards(eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/v1/api/admin/cards/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cards.csv\""))
+                .andExpect(content().contentType("text/csv"))
+                .andReturn();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("id\r\n1\r\n");
+        }
+    }
+
+    @Test
+    void exportCards_ShouldStreamPlainCsv_WhenClientRefusesGzip() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).exportCards(eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/v1/api/admin/cards/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate, *;q=0.5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("id\r\n1\r\n"));
+    }
+
+    @Test
+    void exportCards_ShouldStreamPlainNdjson_WithoutAcceptEncoding() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).exportCards(eq(ExportFormat.NDJSON), any(OutputStream.class));
+
+        MvcResult started = mockMvc.perform(get("/v1/api/admin/cards/export").param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
     @Test
     void changeCardStatus_ShouldReturnUpdatedCard() throws Exception {
         CardResponse response = new CardResponse();
@@ -86,6 +183,49 @@ class AdminCardControllerTest {
                 .andExpect(jsonPath("$.cardStatus").value("BLOCKED"));
     }
 
+    @Test
+    void changeCardStatuses_ShouldReturnCountsByPreviousStatus() throws Exception {
+        CardStatusChangeRequest request = CardStatusChangeRequest.builder()
+                .status(CardStatus.BLOCKED)
+                .cardIds(List.of(1L, 2L, 3L))
+                .build();
+        Mockito.when(cardService.changeStatuses(request)).thenReturn(
+                new CardStatusChangeResponse(CardStatus.BLOCKED, 3, Map.of(CardStatus.ACTIVE, 3L)));
+
+        mockMvc.perform(post("/v1/api/admin/cards/status/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3))
+                .andExpect(jsonPath("$.previousStatuses.ACTIVE").value(3));
+    }
+
+    @Test
+    void changeCardStatuses_ShouldRejectIdsTogetherWithFilter() throws Exception {
+        CardStatusChangeRequest request = CardStatusChangeRequest.builder()
+                .status(CardStatus.BLOCKED)
+                .cardIds(List.of(1L))
+                .filter(new CardFilter())
+                .build();
+
+        mockMvc.perform(post("/v1/api/admin/cards/status/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(cardService);
+    }
+
+    @Test
+    void changeCardStatuses_ShouldRejectEmptyFilter() throws Exception {
+        mockMvc.perform(post("/v1/api/admin/cards/status/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"BLOCKED\",\"filter\":{}}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(cardService);
+    }
+
     @Test
     void deleteCard_ShouldReturnNoContent() throws Exception {
         mockMvc.perform(delete("/v1/api/admin/cards/1"))
@@ -132,4 +272,42 @@ class AdminCardControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].id").value(1L));
     }
+
+    @Test
+    void searchCards_ShouldBindEveryFilter() throws Exception {
+        Mockito.when(cardService.searchCards(any(CardFilter.class)))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 10), 0));
+
+        mockMvc.perform(get("/v1/api/admin/cards/search")
+                        .param("status", "ACTIVE")
+                        .param("cardType", "VISA")
+                        .param("expiresFrom", "2030-01-01T00:00:00")
+                        .param("expiresTo", "2031-01-01T00:00:00")
+                        .param("minBalance", "10.00")
+                        .param("maxBalance", "500")
+                        .param("ownerId", "7")
+                        .param("lastFour", "1234"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<CardFilter> filter = ArgumentCaptor.forClass(CardFilter.class);
+        Mockito.verify(cardService).searchCards(filter.capture());
+        assertThat(filter.getValue().getStatus()).isEqualTo(CardStatus.ACTIVE);
+        assertThat(filter.getValue().getCardType()).isEqualTo(CardType.VISA);
+        assertThat(filter.getValue().getExpiresFrom()).isEqualTo(LocalDateTime.of(2030, 1, 1, 0, 0));
+        assertThat(filter.getValue().getExpiresTo()).isEqualTo(LocalDateTime.of(2031, 1, 1, 0, 0));
+        assertThat(filter.getValue().getMinBalance()).isEqualByComparingTo("10");
+        assertThat(filter.getValue().getMaxBalance()).isEqualByComparingTo("500");
+        assertThat(filter.getValue().getOwnerId()).isEqualTo(7L);
+        assertThat(filter.getValue().getLastFour()).isEqualTo("1234");
+        assertThat(filter.getValue().getOffset()).isZero();
+        assertThat(filter.getValue().getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void searchCards_ShouldRejectMalformedLastFour() throws Exception {
+        mockMvc.perform(get("/v1/api/admin/cards/search").param("lastFour", "12a4"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(cardService);
+    }
 }
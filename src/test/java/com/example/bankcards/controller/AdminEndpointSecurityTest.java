@@ -0,0 +1,130 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.config.RateLimitConfig;
+import com.example.bankcards.config.SecurityConfig;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.security.AccessTokenLogoutHandler;
+import com.example.bankcards.security.AccessTokenRevocationList;
+import com.example.bankcards.security.AuthenticationMetrics;
+import com.example.bankcards.security.JwtFilter;
+import com.example.bankcards.security.RateLimitFilter;
+import com.example.bankcards.security.TokenBucketRateLimiter;
+import com.example.bankcards.security.UserEpochRegistry;
+import com.example.bankcards.security.VerifiedTokenCache;
+import com.example.bankcards.service.authentication.AuthenticationService;
+import com.example.bankcards.service.card.CardService;
+import com.example.bankcards.service.export.ExportService;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import com.example.bankcards.service.transfer.TransferService;
+import com.example.bankcards.service.user.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {AdminCardController.class, AdminUserController.class, UserCardController.class})
+@Import({SecurityConfig.class, JwtFilter.class, JwtConfig.class, VerifiedTokenCache.class, AuthenticationMetrics.class,
+        RateLimitFilter.class, RateLimitConfig.class, TokenBucketRateLimiter.class, AccessTokenLogoutHandler.class,
+        AdminEndpointSecurityTest.MetricsTestConfig.class})
+class AdminEndpointSecurityTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @MockBean private JwtProvider jwtProvider;
+    @MockBean private UserEpochRegistry userEpochRegistry;
+    @MockBean private AccessTokenRevocationList accessTokenRevocationList;
+    @MockBean private UserService userService;
+    @MockBean private AuthenticationService authenticationService;
+    @MockBean private CardService cardService;
+    @MockBean private ExportService exportService;
+    @MockBean private TransferService transferService;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtProvider.verify("user-token")).thenReturn(Optional.of(token("user", Role.USER)));
+        when(jwtProvider.verify("admin-token")).thenReturn(Optional.of(token("admin", Role.ADMIN)));
+    }
+
+    static Stream<Arguments> adminEndpoints() {
+        return Stream.of(
+                Arguments.of("card export", get("/v1/api/admin/cards/export")),
+                Arguments.of("user export", get("/v1/api/admin/user/export")),
+                Arguments.of("bulk issuance", post("/v1/api/admin/cards/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"ownerId\":1,\"cardType\":\"VISA\"}]")),
+                Arguments.of("bulk status change", post("/v1/api/admin/cards/status/update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cardIds\":[1],\"status\":\"BLOCKED\"}")),
+                Arguments.of("card search", get("/v1/api/admin/cards/search").param("status", "ACTIVE")));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("adminEndpoints")
+    void adminEndpoint_ShouldReturnForbidden_ForUserToken(String name, MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request.header("Authorization", "Bearer user-token"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(cardService, exportService);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("adminEndpoints")
+    void adminEndpoint_ShouldReturnUnauthorized_WithoutToken(String name, MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request)
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(cardService, exportService);
+    }
+
+    @Test
+    void adminEndpoint_ShouldBeReachable_ForAdminToken() throws Exception {
+        mockMvc.perform(get("/v1/api/admin/cards/export").header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userEndpoint_ShouldBeReachable_ForUserToken() throws Exception {
+        mockMvc.perform(get("/v1/api/user/cards/1/balance").header("Authorization", "Bearer user-token"))
+                .andExpect(status().isOk());
+    }
+
+    private static VerifiedToken token(String subject, Role role) {
+        Instant now = Instant.now();
+        return new VerifiedToken(subject + "-jti", subject, 1L,
+                List.of(new SimpleGrantedAuthority(role.name())), now, now.plusSeconds(3600));
+    }
+
+    @TestConfiguration
+    static class MetricsTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bankcards.controller;
 
 import com.example.bankcards.dto.filter.UserFilter;
 import com.example.bankcards.dto.request.RegistrationRequestDto;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.service.authentication.AuthenticationService;
 import com.example.bankcards.service.user.UserService;
@@ -131,4 +132,22 @@ class AdminUserControllerTest {
                 .andExpect(jsonPath("$.content[0].id").value(1L))
                 .andExpect(jsonPath("$.content[0].username").value("admin"));
     }
+
+    @Test
+    void allUsersByCursor_ShouldReturnNextCursor_WhenCursorParamPresent() throws Exception {
+        UserResponse user = UserResponse.builder()
+                .id(1L)
+                .username("admin")
+                .build();
+
+        Mockito.when(userService.getAllUsersByCursor(new UserFilter(null, 10, "")))
+                .thenReturn(new CursorPage<>(List.of(user), "aWQ6MQ"));
+
+        mockMvc.perform(get("/v1/api/admin/user/get")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].username").value("admin"))
+                .andExpect(jsonPath("$.nextCursor").value("aWQ6MQ"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
 }
@@ -5,6 +5,7 @@ import com.example.bankcards.dto.request.RegistrationRequestDto;
 import com.example.bankcards.dto.response.TokenResponse;
 import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.service.authentication.AuthenticationService;
+import com.example.bankcards.service.jwt.VerifiedToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,10 +20,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
+import java.util.List;
+
 import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -102,6 +107,17 @@ class AuthenticationControllerTest {
                 .andExpect(header().string(HttpHeaders.SET_COOKIE, containsString("Max-Age=0")));
     }
 
+    @Test
+    void logout_ShouldRevokeAccessToken_WhenAuthenticated() throws Exception {
+        VerifiedToken accessToken = new VerifiedToken("jti-1", "tester", 1L, List.of(), Instant.now(), Instant.now().plusSeconds(60));
+
+        mockMvc.perform(post("/v1/api/auth/logout")
+                        .principal(new UsernamePasswordAuthenticationToken("tester", accessToken, List.of())))
+                .andExpect(status().isOk());
+
+        Mockito.verify(authenticationService).logout(accessToken);
+    }
+
     @Test
     void refreshToken_ShouldReturnNewTokens() throws Exception {
         TokenResponse tokenResponse = new TokenResponse();
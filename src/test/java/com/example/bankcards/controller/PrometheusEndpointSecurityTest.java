@@ -0,0 +1,100 @@
+package com.example.bankcards.controller;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.config.RateLimitConfig;
+import com.example.bankcards.config.SecurityConfig;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.security.AccessTokenLogoutHandler;
+import com.example.bankcards.security.AccessTokenRevocationList;
+import com.example.bankcards.security.AuthenticationMetrics;
+import com.example.bankcards.security.JwtFilter;
+import com.example.bankcards.security.RateLimitFilter;
+import com.example.bankcards.security.TokenBucketRateLimiter;
+import com.example.bankcards.security.UserEpochRegistry;
+import com.example.bankcards.security.VerifiedTokenCache;
+import com.example.bankcards.service.authentication.AuthenticationService;
+import com.example.bankcards.service.export.ExportService;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import com.example.bankcards.service.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.prometheus.PrometheusMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementContextAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.web.servlet.ServletManagementContextAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Prometheus scrape endpoint sits behind the same ADMIN authority as the admin API.
+ */
+@WebMvcTest(controllers = AdminUserController.class)
+@AutoConfigureObservability(tracing = false)
+@ImportAutoConfiguration({EndpointAutoConfiguration.class, WebEndpointAutoConfiguration.class,
+        ManagementContextAutoConfiguration.class, ServletManagementContextAutoConfiguration.class,
+        MetricsAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+        PrometheusMetricsExportAutoConfiguration.class})
+@Import({SecurityConfig.class, JwtFilter.class, JwtConfig.class, VerifiedTokenCache.class, AuthenticationMetrics.class,
+        RateLimitFilter.class, RateLimitConfig.class, TokenBucketRateLimiter.class, AccessTokenLogoutHandler.class})
+class PrometheusEndpointSecurityTest {
+
+    @Autowired private MockMvc mockMvc;
+
+    @MockBean private JwtProvider jwtProvider;
+    @MockBean private UserEpochRegistry userEpochRegistry;
+    @MockBean private AccessTokenRevocationList accessTokenRevocationList;
+    @MockBean private UserService userService;
+    @MockBean private AuthenticationService authenticationService;
+    @MockBean private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtProvider.verify("user-token")).thenReturn(Optional.of(token("user", Role.USER)));
+        when(jwtProvider.verify("admin-token")).thenReturn(Optional.of(token("admin", Role.ADMIN)));
+    }
+
+    @Test
+    void scrape_ShouldReturnMetrics_ForAdminToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer admin-token"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("# TYPE")));
+    }
+
+    @Test
+    void scrape_ShouldReturnForbidden_ForUserToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer user-token"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void scrape_ShouldReturnUnauthorized_WithoutToken() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static VerifiedToken token(String subject, Role role) {
+        Instant now = Instant.now();
+        return new VerifiedToken(subject + "-jti", subject, 1L,
+                List.of(new SimpleGrantedAuthority(role.name())), now, now.plusSeconds(3600));
+    }
+}
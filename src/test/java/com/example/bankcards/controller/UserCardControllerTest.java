@@ -109,7 +109,7 @@ class UserCardControllerTest {
         CardResponse response = new CardResponse();
         response.setId(1L);
 
-        Mockito.when(cardService.findCardById(1L)).thenReturn(response);
+        Mockito.when(cardService.findOwnCardById(1L)).thenReturn(response);
 
         mockMvc.perform(get("/v1/api/user/cards/get/1"))
                 .andExpect(status().isOk())
@@ -121,7 +121,7 @@ class UserCardControllerTest {
         CardResponse response = new CardResponse();
         response.setId(1L);
 
-        Mockito.when(cardService.blockCard(1L)).thenReturn(response);
+        Mockito.when(cardService.blockOwnCard(1L)).thenReturn(response);
 
         mockMvc.perform(put("/v1/api/user/cards/request-block/1"))
                 .andExpect(status().isOk())
@@ -164,7 +164,7 @@ class UserCardControllerTest {
     void getCards_ShouldReturnCardList() throws Exception {
         CardResponse card = new CardResponse();
         card.setId(1L);
-        Mockito.when(cardService.getAllCards(any(CardFilter.class)))
+        Mockito.when(cardService.getOwnCards(any(CardFilter.class)))
                 .thenReturn(new PageImpl<>(List.of(card), PageRequest.of(0, 10), 1));
 
         mockMvc.perform(get("/v1/api/user/cards/get?offset=0&limit=10"))
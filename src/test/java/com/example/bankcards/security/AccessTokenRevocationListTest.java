@@ -0,0 +1,146 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.entity.RevokedAccessToken;
+import com.example.bankcards.repository.RevokedAccessTokenRepository;
+import com.example.bankcards.service.invalidation.InvalidationChannel;
+import com.example.bankcards.service.invalidation.SharedInvalidationBus;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class AccessTokenRevocationListTest {
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository = mock(RevokedAccessTokenRepository.class);
+
+    private InvalidationChannel otherNode;
+    private AccessTokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        SharedInvalidationBus bus = new SharedInvalidationBus();
+        InvalidationChannel invalidationChannel = bus.node();
+        otherNode = bus.node();
+        revocationList = new AccessTokenRevocationList(invalidationChannel, revokedAccessTokenRepository,
+                new SimpleMeterRegistry(), 1000, 0.01);
+        revocationList.subscribe();
+    }
+
+    @Test
+    void isRevoked_ShouldOnlyMatchRevokedTokenIds() {
+        VerifiedToken revoked = token("jti-1", Instant.now().plusSeconds(60));
+
+        revocationList.revoke(revoked);
+
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+        assertThat(revocationList.isRevoked(token("jti-2", Instant.now().plusSeconds(60)))).isFalse();
+        assertThat(revocationList.isRevoked(token(null, Instant.now().plusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void revoke_ShouldIgnoreExpiredTokens() {
+        revocationList.revoke(token("jti-1", Instant.now().minusSeconds(1)));
+
+        assertThat(revocationList.size()).isZero();
+    }
+
+    @Test
+    void revoke_ShouldBroadcastToOtherNodes() {
+        List<String> received = new ArrayList<>();
+        otherNode.subscribe(AccessTokenRevocationList.TOPIC, received::add);
+        Instant expiration = Instant.now().plusSeconds(60);
+
+        revocationList.revoke(token("jti-1", expiration));
+
+        assertThat(received).containsExactly("jti-1:" + expiration.toEpochMilli());
+    }
+
+    @Test
+    void revoke_ShouldStoreIdWithExpiry() {
+        Instant expiration = Instant.now().plusSeconds(60);
+
+        revocationList.revoke(token("jti-1", expiration));
+        revocationList.revoke(token("jti-1", expiration));
+
+        verify(revokedAccessTokenRepository).save(argThat(stored -> stored.getJti().equals("jti-1")
+                && stored.getExpiresAt().equals(LocalDateTime.ofInstant(expiration, ZoneId.systemDefault()))));
+    }
+
+    @Test
+    void subscribe_ShouldNotStoreRevocationsFromOtherNodes() {
+        otherNode.publish(AccessTokenRevocationList.TOPIC, "jti-remote:" + Instant.now().plusSeconds(60).toEpochMilli());
+
+        verify(revokedAccessTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void loadRevocations_ShouldRestoreStoredIds_AfterRestart() {
+        Instant expiration = Instant.now().plusSeconds(60);
+        when(revokedAccessTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new RevokedAccessToken("jti-stored", LocalDateTime.ofInstant(expiration, ZoneId.systemDefault()))));
+
+        revocationList.loadRevocations();
+
+        assertThat(revocationList.isRevoked(token("jti-stored", expiration))).isTrue();
+        verify(revokedAccessTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rebuild_ShouldDeleteExpiredStoredIds() {
+        revocationList.rebuild();
+
+        verify(revokedAccessTokenRepository).deleteExpired(any());
+    }
+
+    @Test
+    void rebuild_ShouldKeepLiveRevocations() {
+        VerifiedToken revoked = token("jti-1", Instant.now().plusSeconds(60));
+        revocationList.revoke(revoked);
+
+        revocationList.rebuild();
+
+        assertThat(revocationList.isRevoked(revoked)).isTrue();
+        assertThat(revocationList.size()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_ShouldApplyRevocationsFromOtherNodes() {
+        Instant expiration = Instant.now().plusSeconds(60);
+
+        otherNode.publish(AccessTokenRevocationList.TOPIC, "jti-remote:" + expiration.toEpochMilli());
+
+        assertThat(revocationList.isRevoked(token("jti-remote", expiration))).isTrue();
+    }
+
+    @Test
+    void bloomFilter_ShouldStayWithinFalsePositiveBudget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("revoked-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("revoked-" + i)).isTrue();
+            if (filter.mightContain("active-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    private static VerifiedToken token(String id, Instant expiration) {
+        return new VerifiedToken(id, "tester", 1L, List.of(), expiration.minusSeconds(3600), expiration);
+    }
+}
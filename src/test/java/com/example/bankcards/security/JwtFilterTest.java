@@ -0,0 +1,141 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.repository.RevokedAccessTokenRepository;
+import com.example.bankcards.repository.UserAccessRevocationRepository;
+import com.example.bankcards.service.invalidation.InMemoryInvalidationChannel;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import com.example.bankcards.service.user.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtFilterTest {
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserAccessRevocationRepository userAccessRevocationRepository;
+
+    private JwtConfig jwtConfig;
+    private UserEpochRegistry userEpochRegistry;
+    private AccessTokenRevocationList accessTokenRevocationList;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtFilter jwtFilter;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        jwtConfig = new JwtConfig();
+        jwtConfig.setHeader("Authorization");
+        jwtConfig.setPrefix("Bearer");
+        jwtConfig.setAccess_expiration(3600);
+        jwtConfig.setStateless(true);
+        userEpochRegistry = new UserEpochRegistry(jwtConfig, userAccessRevocationRepository);
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(
+                jwtProvider, new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(5));
+        accessTokenRevocationList = new AccessTokenRevocationList(
+                new InMemoryInvalidationChannel(), mock(RevokedAccessTokenRepository.class), new SimpleMeterRegistry(), 1000, 0.01);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtFilter = new JwtFilter(verifiedTokenCache, userService, jwtConfig, userEpochRegistry,
+                accessTokenRevocationList, new AuthenticationMetrics(meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldAuthenticateFromClaims_WithoutUserLookup() throws Exception {
+        VerifiedToken token = token(Instant.now());
+        when(jwtProvider.verify("jwt")).thenReturn(Optional.of(token));
+
+        jwtFilter.doFilter(request("Bearer jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo("tester");
+        assertThat(authentication.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("USER");
+        verifyNoInteractions(userService);
+        assertThat(meterRegistry.get("security.jwt.filter.stage").tag("stage", "verify").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.filter.stage").tag("stage", "context").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.filter.requests").tag("outcome", "authenticated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_ShouldNotAuthenticate_WhenTokenIssuedBeforeUserEpoch() throws Exception {
+        VerifiedToken token = token(Instant.now().minusSeconds(60));
+        when(jwtProvider.verify("jwt")).thenReturn(Optional.of(token));
+        userEpochRegistry.revoke("tester");
+
+        jwtFilter.doFilter(request("Bearer jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_ShouldNotAuthenticate_WhenTokenWasRevokedOnLogout() throws Exception {
+        VerifiedToken token = token(Instant.now());
+        when(jwtProvider.verify("jwt")).thenReturn(Optional.of(token));
+        accessTokenRevocationList.revoke(token);
+
+        jwtFilter.doFilter(request("Bearer jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void doFilter_ShouldNotAuthenticate_WhenTokenIsInvalid() throws Exception {
+        when(jwtProvider.verify("jwt")).thenReturn(Optional.empty());
+
+        jwtFilter.doFilter(request("Bearer jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("security.jwt.filter.requests").tag("outcome", "invalid").counter().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+
+    private static VerifiedToken token(Instant issuedAt) {
+        return new VerifiedToken(
+                "jti-1",
+                "tester",
+                1L,
+                List.of(new SimpleGrantedAuthority("USER")),
+                issuedAt,
+                issuedAt.plusSeconds(3600)
+        );
+    }
+}
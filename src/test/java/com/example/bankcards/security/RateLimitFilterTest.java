@@ -0,0 +1,235 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.RateLimitConfig;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig.Limit principal = new RateLimitConfig.Limit();
+        principal.setCapacity(2);
+        principal.setRefillPeriod(Duration.ofMinutes(1));
+        RateLimitConfig.Limit ip = new RateLimitConfig.Limit();
+        ip.setCapacity(3);
+        ip.setRefillPeriod(Duration.ofMinutes(1));
+
+        RateLimitConfig.Endpoint login = new RateLimitConfig.Endpoint();
+        login.setPath("/v1/api/auth/login");
+        login.setPrincipalField("username");
+        login.setPrincipal(principal);
+        login.setIp(ip);
+
+        RateLimitConfig.Endpoint refresh = new RateLimitConfig.Endpoint();
+        refresh.setPath("/v1/api/auth/refresh_token");
+        refresh.setRefreshTokenParameter("refreshToken");
+        refresh.setPrincipal(principal);
+
+        RateLimitConfig config = new RateLimitConfig();
+        config.getEndpoints().put("login", login);
+        config.getEndpoints().put("refresh-token", refresh);
+
+        JwtProvider jwtProvider = mock(JwtProvider.class);
+        when(jwtProvider.verifyRefreshToken(anyString())).thenReturn(Optional.empty());
+        when(jwtProvider.verifyRefreshToken("alice-1")).thenReturn(Optional.of(Jwts.claims().setSubject("alice")));
+        when(jwtProvider.verifyRefreshToken("alice-2")).thenReturn(Optional.of(Jwts.claims().setSubject("alice")));
+        when(jwtProvider.verifyRefreshToken("alice-3")).thenReturn(Optional.of(Jwts.claims().setSubject("alice")));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        rateLimitFilter = new RateLimitFilter(config, new TokenBucketRateLimiter(config, meterRegistry),
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, jwtProvider);
+    }
+
+    @Test
+    void doFilter_ShouldPassBodyDownstream_WhenWithinLimit() throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        rateLimitFilter.doFilter(login("alice", "10.0.0.1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        String body = StreamUtils.copyToString(((HttpServletRequest) chain.getRequest()).getInputStream(), StandardCharsets.UTF_8);
+        assertThat(body).contains("\"username\":\"alice\"");
+    }
+
+    @Test
+    void doFilter_ShouldReturn429_WhenPrincipalExceedsLimit() throws ServletException, IOException {
+        rateLimitFilter.doFilter(login("alice", "10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        rateLimitFilter.doFilter(login("alice", "10.0.0.2"), new MockHttpServletResponse(), new MockFilterChain());
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(login("alice", "10.0.0.3"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(response.getContentAsString()).contains("Too many requests");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_ShouldReturn429_WhenIpExceedsLimit() throws ServletException, IOException {
+        rateLimitFilter.doFilter(login("alice", "10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        rateLimitFilter.doFilter(login("bob", "10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+        rateLimitFilter.doFilter(login("carol", "10.0.0.1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(login("dave", "10.0.0.1"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void doFilter_ShouldNotifyReadListener_WhenBodyIsBuffered() throws ServletException, IOException {
+        MockFilterChain chain = new MockFilterChain();
+        rateLimitFilter.doFilter(login("alice", "10.0.0.1"), new MockHttpServletResponse(), chain);
+        ServletInputStream input = ((HttpServletRequest) chain.getRequest()).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[16];
+                int count;
+                while (input.isReady() && (count = input.read(buffer)) != -1) {
+                    read.write(buffer, 0, count);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("end");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertThat(events).containsExactly("data", "end");
+        assertThat(input.isFinished()).isTrue();
+        assertThat(read.toString(StandardCharsets.UTF_8)).contains("\"username\":\"alice\"");
+    }
+
+    @Test
+    void doFilter_ShouldNotBufferBody_WhenDeclaredLengthExceedsLimit() throws ServletException, IOException {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = login("alice", "10.0.0." + i, 10_000);
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            rateLimitFilter.doFilter(request, response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(chain.getRequest()).isSameAs(request);
+        }
+    }
+
+    @Test
+    void doFilter_ShouldReplayWholeBody_WhenUndeclaredLengthExceedsLimit() throws ServletException, IOException {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = login("alice", "10.0.0." + i, 10_000);
+            byte[] content = request.getContentAsByteArray();
+            HttpServletRequest chunked = new HttpServletRequestWrapper(request) {
+                @Override
+                public long getContentLengthLong() {
+                    return -1;
+                }
+            };
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            rateLimitFilter.doFilter(chunked, response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(request.getInputStream().available()).isEqualTo(content.length - 4097);
+            byte[] body = StreamUtils.copyToByteArray(((HttpServletRequest) chain.getRequest()).getInputStream());
+            assertThat(body).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void doFilter_ShouldLimitRefreshBySubject_WhenEveryTokenIsNew() throws ServletException, IOException {
+        rateLimitFilter.doFilter(refresh("alice-1"), new MockHttpServletResponse(), new MockFilterChain());
+        rateLimitFilter.doFilter(refresh("alice-2"), new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(refresh("alice-3"), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void doFilter_ShouldPassUnverifiedRefreshToken_ToTheChain() throws ServletException, IOException {
+        for (int i = 0; i < 3; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            rateLimitFilter.doFilter(refresh("forged"), new MockHttpServletResponse(), chain);
+            assertThat(chain.getRequest()).isNotNull();
+        }
+    }
+
+    @Test
+    void doFilter_ShouldSkip_WhenPathIsNotLimited() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/api/card/get/1");
+        MockFilterChain chain = new MockFilterChain();
+
+        rateLimitFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private MockHttpServletRequest login(String username, String ip) {
+        return login(username, ip, 0);
+    }
+
+    private MockHttpServletRequest login(String username, String ip, int padding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/api/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret" + "x".repeat(padding) + "\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletRequest refresh(String refreshToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v1/api/auth/refresh_token");
+        request.setRemoteAddr("10.0.0.1");
+        request.setParameter("refreshToken", refreshToken);
+        return request;
+    }
+}
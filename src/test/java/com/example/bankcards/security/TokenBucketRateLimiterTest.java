@@ -0,0 +1,63 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.RateLimitConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private TokenBucketRateLimiter rateLimiter;
+    private RateLimitConfig.Limit limit;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setIdleTimeout(Duration.ofSeconds(30));
+        rateLimiter = new TokenBucketRateLimiter(config, new SimpleMeterRegistry());
+
+        limit = new RateLimitConfig.Limit();
+        limit.setCapacity(3);
+        limit.setRefillPeriod(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void tryAcquire_ShouldAllowBurstUpToCapacity_ThenReject() {
+        long now = 0;
+
+        assertThat(rateLimiter.tryAcquire("key", limit, now)).isZero();
+        assertThat(rateLimiter.tryAcquire("key", limit, now)).isZero();
+        assertThat(rateLimiter.tryAcquire("key", limit, now)).isZero();
+        assertThat(rateLimiter.tryAcquire("key", limit, now)).isEqualTo(SECOND);
+        assertThat(rateLimiter.tryAcquire("other", limit, now)).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("key", limit, 0);
+        }
+
+        assertThat(rateLimiter.tryAcquire("key", limit, SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(rateLimiter.tryAcquire("key", limit, SECOND)).isZero();
+        assertThat(rateLimiter.tryAcquire("key", limit, SECOND)).isPositive();
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyBucketsFullForLongerThanTimeout() {
+        rateLimiter.tryAcquire("idle", limit, 0);
+        rateLimiter.tryAcquire("busy", limit, 40 * SECOND);
+
+        rateLimiter.evictIdle(40 * SECOND);
+
+        assertThat(rateLimiter.size()).isEqualTo(1);
+        assertThat(rateLimiter.tryAcquire("busy", limit, 40 * SECOND)).isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.UserAccessRevocationRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import com.example.bankcards.service.user.UserAccessRevokedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A node that starts after a user was banned or deleted must keep rejecting the access tokens
+ * issued to that user before, even though no authentication step reads the user row.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserEpochRegistryTest {
+
+    @Autowired private UserAccessRevocationRepository userAccessRevocationRepository;
+    @Autowired private UserRepository userRepository;
+
+    private JwtConfig jwtConfig;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfig = new JwtConfig();
+        jwtConfig.setAccess_expiration(3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userAccessRevocationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void loadEpochs_ShouldRejectTokensOfDeletedUser_AfterRestart() throws Exception {
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .password("password")
+                .email("admin@example.com")
+                .role(Role.ADMIN)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        VerifiedToken issuedBefore = token(Instant.now().minusSeconds(60));
+
+        userRepository.deleteById(admin.getId());
+        new UserEpochRegistry(jwtConfig, userAccessRevocationRepository)
+                .onUserAccessRevoked(new UserAccessRevokedEvent("admin"));
+        Thread.sleep(5);
+
+        UserEpochRegistry restarted = new UserEpochRegistry(jwtConfig, userAccessRevocationRepository);
+        restarted.loadEpochs();
+
+        assertThat(restarted.isRevoked(issuedBefore)).isTrue();
+        assertThat(restarted.isRevoked(token(Instant.now()))).isFalse();
+    }
+
+    @Test
+    void onUserAccessRevoked_ShouldNotStoreRevocationsFromOtherNodes() {
+        new UserEpochRegistry(jwtConfig, userAccessRevocationRepository)
+                .onUserAccessRevoked(new UserAccessRevokedEvent("admin", true));
+
+        assertThat(userAccessRevocationRepository.count()).isZero();
+    }
+
+    @Test
+    void evictExpired_ShouldDeleteExpiredStoredEpochs() {
+        jwtConfig.setAccess_expiration(0);
+        UserEpochRegistry registry = new UserEpochRegistry(jwtConfig, userAccessRevocationRepository);
+        registry.onUserAccessRevoked(new UserAccessRevokedEvent("admin"));
+
+        registry.evictExpired();
+
+        assertThat(userAccessRevocationRepository.count()).isZero();
+        assertThat(registry.size()).isZero();
+    }
+
+    private static VerifiedToken token(Instant issuedAt) {
+        return new VerifiedToken("jti", "admin", 1L, List.of(), issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
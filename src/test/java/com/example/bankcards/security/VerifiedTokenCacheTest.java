@@ -0,0 +1,72 @@
+package com.example.bankcards.security;
+
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifiedTokenCache = new VerifiedTokenCache(jwtProvider, meterRegistry, true, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void verify_ShouldVerifyOnce_WhenTokenIsReused() {
+        VerifiedToken token = token(Instant.now().plusSeconds(60));
+        when(jwtProvider.verify("jwt")).thenReturn(Optional.of(token));
+
+        verifiedTokenCache.verify("jwt");
+        Optional<VerifiedToken> result = verifiedTokenCache.verify("jwt");
+
+        assertThat(result).contains(token);
+        verify(jwtProvider, times(1)).verify("jwt");
+        assertThat(meterRegistry.get("jwt.verified-tokens.hit-ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void verify_ShouldNotCache_WhenTokenIsInvalid() {
+        when(jwtProvider.verify("jwt")).thenReturn(Optional.empty());
+
+        verifiedTokenCache.verify("jwt");
+        verifiedTokenCache.verify("jwt");
+
+        verify(jwtProvider, times(2)).verify("jwt");
+    }
+
+    @Test
+    void verify_ShouldVerifyAgain_WhenCachedTokenHasExpired() {
+        VerifiedToken token = token(Instant.now().minusSeconds(1));
+        when(jwtProvider.verify("jwt")).thenReturn(Optional.of(token));
+
+        verifiedTokenCache.verify("jwt");
+        verifiedTokenCache.verify("jwt");
+
+        verify(jwtProvider, times(2)).verify("jwt");
+    }
+
+    private static VerifiedToken token(Instant expiration) {
+        return new VerifiedToken("jti-1", "tester", 1L, List.of(), expiration.minusSeconds(3600), expiration);
+    }
+}
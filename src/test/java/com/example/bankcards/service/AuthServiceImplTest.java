@@ -7,8 +7,10 @@ import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.Role;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.security.AccessTokenRevocationList;
 import com.example.bankcards.service.authentication.AuthenticationServiceImpl;
 import com.example.bankcards.service.jwt.JwtService;
+import com.example.bankcards.service.jwt.VerifiedToken;
 import com.example.bankcards.service.user.UserService;
 import com.example.bankcards.util.mapper.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,6 +24,9 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -34,6 +39,7 @@ class AuthServiceImplTest {
     @Mock private JwtService jwtService;
     @Mock private UserRepository userRepository;
     @Mock private UserMapper userMapper;
+    @Mock private AccessTokenRevocationList accessTokenRevocationList;
 
     @InjectMocks
     private AuthenticationServiceImpl authenticationService;
@@ -65,16 +71,14 @@ class AuthServiceImplTest {
     void login_ShouldReturnToken_WhenCredentialsAreValid() {
         LoginRequest loginRequest = new LoginRequest("tester", "password");
 
-        when(userService.loadUserByUsername("tester")).thenReturn(user);
+        when(authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("tester", "password")))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
         when(jwtService.generateToken(user)).thenReturn(tokenResponse);
 
         TokenResponse result = authenticationService.login(loginRequest);
 
-        verify(authenticationManager).authenticate(
-                new UsernamePasswordAuthenticationToken("tester", "password")
-        );
-
         assertThat(result).isEqualTo(tokenResponse);
+        verifyNoInteractions(userService);
     }
 
     @Test
@@ -112,4 +116,13 @@ class AuthServiceImplTest {
         assertThat(result).isEqualTo(tokenResponse);
         verify(jwtService).regenerateToken(oldToken);
     }
+
+    @Test
+    void logout_ShouldRevokeAccessToken() {
+        VerifiedToken accessToken = new VerifiedToken("jti-1", "tester", 1L, List.of(), Instant.now(), Instant.now().plusSeconds(60));
+
+        authenticationService.logout(accessToken);
+
+        verify(accessTokenRevocationList).revoke(accessToken);
+    }
 }
\ No newline at end of file
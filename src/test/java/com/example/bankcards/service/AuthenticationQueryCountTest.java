@@ -0,0 +1,108 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.config.JwtKeyRingConfig;
+import com.example.bankcards.dto.request.LoginRequest;
+import com.example.bankcards.dto.response.TokenResponse;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.security.AccessTokenRevocationList;
+import com.example.bankcards.service.authentication.AuthenticationServiceImpl;
+import com.example.bankcards.service.jwt.JwtKeyRing;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.JwtServiceImpl;
+import com.example.bankcards.service.user.UserDetailsCache;
+import com.example.bankcards.service.user.UserServiceImpl;
+import com.example.bankcards.util.mapper.UserMapperImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AuthenticationServiceImpl.class, JwtServiceImpl.class, JwtProvider.class, JwtKeyRing.class,
+        JwtConfig.class, JwtKeyRingConfig.class, UserServiceImpl.class, UserDetailsCache.class, UserMapperImpl.class,
+        AuthenticationQueryCountTest.SecurityTestConfig.class})
+class AuthenticationQueryCountTest {
+
+    @Autowired private AuthenticationServiceImpl authenticationService;
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private UserDetailsCache userDetailsCache;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @MockBean private AccessTokenRevocationList accessTokenRevocationList;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        testEntityManager.persistAndFlush(User.builder()
+                .username("tester")
+                .password(passwordEncoder.encode("password"))
+                .email("test@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        testEntityManager.clear();
+        userDetailsCache.invalidate("tester");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void login_ShouldReadUserOnceAndWriteTokenOnce() {
+        TokenResponse result = authenticationService.login(new LoginRequest("tester", "password"));
+
+        assertThat(result.getAccessToken()).isNotBlank();
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @TestConfiguration
+    static class SecurityTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        AuthenticationManager authenticationManager(UserServiceImpl userService, PasswordEncoder passwordEncoder) {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+            provider.setUserDetailsService(userService);
+            provider.setPasswordEncoder(passwordEncoder);
+            return new ProviderManager(provider);
+        }
+    }
+}
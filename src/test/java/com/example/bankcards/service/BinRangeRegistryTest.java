@@ -0,0 +1,70 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.service.card.BinRangeRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinRangeRegistryTest {
+
+    private static final String ISSUING = """
+            411111,411111,VISA,16,16,issuing
+            511111,511111,MASTERCARD,16,16,issuing
+            """;
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+    private BinRangeRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("bin-ranges.csv");
+        write("4,4,VISA,16,16\n", Instant.parse("2025-01-01T00:00:00Z"));
+        registry = new BinRangeRegistry(new FileSystemResource(file));
+    }
+
+    @Test
+    void reloadIfModified_ShouldSwapInTheNewRanges() throws IOException {
+        assertThat(registry.classify("5555555555554444")).isNull();
+
+        write("4,4,VISA,16,16\n51,55,MASTERCARD,16,16\n", Instant.parse("2025-01-02T00:00:00Z"));
+        registry.reloadIfModified();
+
+        assertThat(registry.classify("5555555555554444")).isEqualTo(CardType.MASTERCARD);
+        assertThat(registry.classify("4000056655665556")).isEqualTo(CardType.VISA);
+    }
+
+    @Test
+    void reloadIfModified_ShouldKeepCurrentRanges_WhenFileIsInvalid() throws IOException {
+        write("4,4,VISA,16,16\n44,50,MASTERCARD,16,16\n", Instant.parse("2025-01-02T00:00:00Z"));
+        registry.reloadIfModified();
+
+        assertThat(registry.classify("4400000000000000")).isEqualTo(CardType.VISA);
+        assertThat(registry.issuingBin(CardType.MASTERCARD)).isEqualTo("511111");
+    }
+
+    @Test
+    void constructor_ShouldFail_WhenFileIsMissing() {
+        assertThatThrownBy(() -> new BinRangeRegistry(new FileSystemResource(directory.resolve("missing.csv"))))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private void write(String ranges, Instant modified) throws IOException {
+        Files.writeString(file, ranges + ISSUING);
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+    }
+}
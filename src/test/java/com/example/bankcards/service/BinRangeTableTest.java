@@ -0,0 +1,88 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.service.card.BinRangeTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinRangeTableTest {
+
+    private static final String ISSUING = """
+            411111,411111,VISA,16,16,issuing
+            511111,511111,MASTERCARD,16,16,issuing
+            """;
+
+    @Test
+    void classify_ShouldMatchByPrefixAndLength() throws IOException {
+        BinRangeTable table = parse("""
+                # comment
+                4,4,VISA,13,19
+
+                51,55,MASTERCARD,16,16
+                2221,2720,MASTERCARD,16,16
+                """);
+
+        assertThat(table.classify("4000056655665556")).isEqualTo(CardType.VISA);
+        assertThat(table.classify("4222222222222")).isEqualTo(CardType.VISA);
+        assertThat(table.classify("5555555555554444")).isEqualTo(CardType.MASTERCARD);
+        assertThat(table.classify("2223003122003222")).isEqualTo(CardType.MASTERCARD);
+        assertThat(table.classify("2720999999999996")).isEqualTo(CardType.MASTERCARD);
+        assertThat(table.classify("2721000000000004")).isNull();
+        assertThat(table.classify("5600000000000000")).isNull();
+        assertThat(table.classify("555555555555444")).isNull();
+        assertThat(table.classify("0000000000000000")).isNull();
+        assertThat(table.classify("4111 1111 1111 1111")).isNull();
+        assertThat(table.classify("4111")).isNull();
+    }
+
+    @Test
+    void classify_ShouldPreferTheInnermostRange() throws IOException {
+        BinRangeTable table = parse("""
+                4,4,VISA,13,19
+                45,45,MASTERCARD,16,16
+                4599,4599,VISA,16,16
+                """);
+
+        assertThat(table.classify("4499999999999999")).isEqualTo(CardType.VISA);
+        assertThat(table.classify("4500000000000000")).isEqualTo(CardType.MASTERCARD);
+        assertThat(table.classify("4598999999999999")).isEqualTo(CardType.MASTERCARD);
+        assertThat(table.classify("4599000000000000")).isEqualTo(CardType.VISA);
+        assertThat(table.classify("4600000000000000")).isEqualTo(CardType.VISA);
+        assertThat(table.classify("4111111111111111")).isEqualTo(CardType.VISA);
+        assertThat(table.issuingBin(CardType.VISA)).isEqualTo("411111");
+        assertThat(table.size()).isEqualTo(7);
+    }
+
+    @Test
+    void parse_ShouldRejectPartiallyOverlappingRanges() {
+        assertThatThrownBy(() -> parse("""
+                40,45,VISA,16,16
+                44,49,VISA,16,16
+                """))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("overlap");
+    }
+
+    @Test
+    void parse_ShouldReportTheLine_WhenARangeIsMalformed() {
+        assertThatThrownBy(() -> parse("4,4,AMEX,16,16\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 1");
+    }
+
+    @Test
+    void parse_ShouldRequireAnIssuingBinPerCardType() {
+        assertThatThrownBy(() -> BinRangeTable.parse(new StringReader("411111,411111,VISA,16,16,issuing\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No issuing BIN for MASTERCARD");
+    }
+
+    private static BinRangeTable parse(String ranges) throws IOException {
+        return BinRangeTable.parse(new StringReader(ranges + ISSUING));
+    }
+}
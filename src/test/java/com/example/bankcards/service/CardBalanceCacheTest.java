@@ -0,0 +1,158 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.CardBalance;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.service.card.CardBalanceCache;
+import com.example.bankcards.service.invalidation.InvalidationChannel;
+import com.example.bankcards.service.invalidation.SharedInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardBalanceCacheTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    private final SharedInvalidationBus bus = new SharedInvalidationBus();
+
+    private CardBalanceCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(bus.node(), true);
+    }
+
+    @Test
+    void get_ShouldLoadOnce_ThenServeFromCache() {
+        when(cardRepository.findBalanceById(1L)).thenReturn(Optional.of(new CardBalance(7L, BigDecimal.TEN, 0L)));
+
+        cache.get(1L);
+        CardBalance balance = cache.get(1L);
+
+        assertThat(balance.getBalance()).isEqualByComparingTo("10");
+        assertThat(balance.getOwnerId()).isEqualTo(7L);
+        verify(cardRepository, times(1)).findBalanceById(1L);
+    }
+
+    @Test
+    void get_ShouldNotCacheMissingCard() {
+        when(cardRepository.findBalanceById(1L)).thenReturn(Optional.empty());
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L)).isNull();
+
+        verify(cardRepository, times(2)).findBalanceById(1L);
+    }
+
+    @Test
+    void update_ShouldReplaceCachedBalance_WithNewerVersion() {
+        when(cardRepository.findBalanceById(1L)).thenReturn(Optional.of(new CardBalance(7L, BigDecimal.TEN, 0L)));
+        cache.get(1L);
+
+        cache.update(card(1L, "25", 1L));
+
+        assertThat(cache.get(1L).getBalance()).isEqualByComparingTo("25");
+        verify(cardRepository, times(1)).findBalanceById(1L);
+    }
+
+    @Test
+    void update_ShouldKeepNewerBalance_WhenWritesArriveOutOfOrder() {
+        cache.update(card(1L, "30", 2L));
+        cache.update(card(1L, "25", 1L));
+
+        assertThat(cache.get(1L).getBalance()).isEqualByComparingTo("30");
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void update_ShouldWin_OverLoadThatReadTheOldBalance() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(cardRepository.findBalanceById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return Optional.of(new CardBalance(7L, BigDecimal.TEN, 0L));
+        });
+
+        CompletableFuture<CardBalance> read = CompletableFuture.supplyAsync(() -> cache.get(1L));
+        loading.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> cache.update(card(1L, "25", 1L)));
+        committed.countDown();
+        read.get(5, TimeUnit.SECONDS);
+        write.get(5, TimeUnit.SECONDS);
+
+        assertThat(cache.get(1L).getBalance()).isEqualByComparingTo("25");
+    }
+
+    @Test
+    void get_ShouldReadDatabase_WhenDisabled() {
+        CardBalanceCache disabled = newCache(bus.node(), false);
+        when(cardRepository.findBalanceById(1L)).thenReturn(Optional.of(new CardBalance(7L, BigDecimal.TEN, 0L)));
+
+        disabled.update(card(1L, "25", 1L));
+        disabled.get(1L);
+        CardBalance balance = disabled.get(1L);
+
+        assertThat(balance.getBalance()).isEqualByComparingTo("10");
+        verify(cardRepository, times(2)).findBalanceById(1L);
+    }
+
+    @Test
+    void update_ShouldEvictOlderBalance_OnOtherNodes() {
+        CardBalanceCache otherNode = newCache(bus.node(), true);
+        when(cardRepository.findBalanceById(1L)).thenReturn(
+                Optional.of(new CardBalance(7L, BigDecimal.TEN, 0L)),
+                Optional.of(new CardBalance(7L, new BigDecimal("25"), 1L)));
+        assertThat(otherNode.get(1L).getBalance()).isEqualByComparingTo("10");
+
+        cache.update(card(1L, "25", 1L));
+
+        assertThat(otherNode.get(1L).getBalance()).isEqualByComparingTo("25");
+        assertThat(cache.get(1L).getBalance()).isEqualByComparingTo("25");
+        verify(cardRepository, times(2)).findBalanceById(1L);
+    }
+
+    @Test
+    void update_ShouldKeepNewerBalance_OnOtherNodes_WhenNotificationIsLate() {
+        CardBalanceCache otherNode = newCache(bus.node(), true);
+        otherNode.update(card(1L, "30", 2L));
+
+        cache.update(card(1L, "25", 1L));
+
+        assertThat(otherNode.get(1L).getBalance()).isEqualByComparingTo("30");
+        verifyNoInteractions(cardRepository);
+    }
+
+    private CardBalanceCache newCache(InvalidationChannel invalidationChannel, boolean enabled) {
+        CardBalanceCache balanceCache = new CardBalanceCache(cardRepository, invalidationChannel,
+                new SimpleMeterRegistry(), enabled, 100, Duration.ofMinutes(1));
+        balanceCache.subscribe();
+        return balanceCache;
+    }
+
+    private static Card card(long id, String balance, long version) {
+        return Card.builder()
+                .id(id)
+                .owner(User.builder().id(7L).build())
+                .balance(new BigDecimal(balance))
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.card.CardBalanceCache;
+import com.example.bankcards.service.card.CardBalanceChangedEvent;
+import com.example.bankcards.service.invalidation.InMemoryInvalidationChannel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The balance cache must only ever see committed balances: a changed card is published once the
+ * writing transaction commits, and never when it rolls back.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CardBalanceCache.class, InMemoryInvalidationChannel.class, CardBalanceCommitTest.MetricsTestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardBalanceCommitTest {
+
+    @Autowired private CardBalanceCache cardBalanceCache;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ApplicationEventPublisher eventPublisher;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .username("owner")
+                .password("password")
+                .email("owner@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        card = cardRepository.save(Card.builder()
+                .encryptedCardNumber("encrypted")
+                .cardNumberHash("hash")
+                .cardMask("**** **** ****0001")
+                .lastFour("0001")
+                .owner(owner)
+                .cardType(CardType.VISA)
+                .cardStatus(CardStatus.ACTIVE)
+                .expirationDate(LocalDateTime.now().plusYears(5))
+                .isDeleted(false)
+                .balance(BigDecimal.valueOf(1000))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void balanceChange_ShouldReachTheCache_OnlyAfterCommit() {
+        assertThat(cardBalanceCache.get(card.getId()).getVersion()).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Card changed = cardRepository.findById(card.getId()).orElseThrow();
+            changed.setBalance(BigDecimal.valueOf(900));
+            eventPublisher.publishEvent(new CardBalanceChangedEvent(cardRepository.saveAndFlush(changed)));
+
+            assertThat(cardBalanceCache.get(card.getId()).getVersion()).isZero();
+        });
+
+        assertThat(cardBalanceCache.get(card.getId()).getVersion()).isEqualTo(1);
+        assertThat(cardBalanceCache.get(card.getId()).getBalance()).isEqualByComparingTo("900");
+    }
+
+    @Test
+    void balanceChange_ShouldNeverReachTheCache_WhenRolledBack() {
+        assertThat(cardBalanceCache.get(card.getId()).getVersion()).isZero();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Card changed = cardRepository.findById(card.getId()).orElseThrow();
+            changed.setBalance(BigDecimal.valueOf(900));
+            eventPublisher.publishEvent(new CardBalanceChangedEvent(cardRepository.saveAndFlush(changed)));
+            status.setRollbackOnly();
+        });
+
+        assertThat(cardBalanceCache.get(card.getId()).getBalance()).isEqualByComparingTo("1000");
+        assertThat(cardBalanceCache.get(card.getId()).getVersion()).isZero();
+    }
+
+    @TestConfiguration
+    static class MetricsTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
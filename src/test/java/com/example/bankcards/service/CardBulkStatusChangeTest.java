@@ -0,0 +1,149 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.request.CardStatusChangeRequest;
+import com.example.bankcards.dto.response.CardStatusChangeResponse;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.security.CurrentUser;
+import com.example.bankcards.service.card.BinRangeRegistry;
+import com.example.bankcards.service.card.CardBalanceCache;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberCipher;
+import com.example.bankcards.service.card.CardNumberGenerate;
+import com.example.bankcards.service.card.CardServiceImpl;
+import com.example.bankcards.util.mapper.CardMapperImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk status changes against PostgreSQL on a million seeded cards, logging the throughput of
+ * both the id list and the filter path. Skipped when Docker is not available.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CardServiceImpl.class, CardMapperImpl.class, CurrentUser.class, CardNumberCipher.class,
+        CardNumberAllocator.class, CardNumberGenerate.class, BinRangeRegistry.class})
+class CardBulkStatusChangeTest {
+
+    private static final int USERS = 10_000;
+    private static final int CARDS = 1_000_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired private CardServiceImpl cardService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @MockBean private CardBalanceCache cardBalanceCache;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("TRUNCATE cards, users CASCADE");
+        jdbcTemplate.update("""
+                INSERT INTO users (username, password, email, role, is_banned, created_at, updated_at)
+                SELECT 'user' || g, 'password', 'user' || g || '@example.com', 'USER', false, now(), now()
+                FROM generate_series(1, ?) g""", USERS);
+        jdbcTemplate.update("""
+                INSERT INTO cards (id, number_encrypted, number_hash, number_mask, number_last4, owner_id, status,
+                                   expiration, type, deleted, balance, version)
+                SELECT nextval('cards_seq'), 'encrypted-' || g, md5(g::text), '**** **** ****0000', '0000',
+                       (SELECT min(id) FROM users) + g % ?,
+                       (ARRAY['ACTIVE', 'BLOCKED', 'EXPIRED'])[1 + g % 3],
+                       timestamp '2025-01-01' + (g % 3650) * interval '1 day',
+                       (ARRAY['VISA', 'MASTERCARD'])[1 + g % 2],
+                       g % 10 = 0, 0, 0
+                FROM generate_series(1, ?) g""", USERS, CARDS);
+        jdbcTemplate.execute("VACUUM ANALYZE cards");
+    }
+
+    @Test
+    void changeStatuses_ShouldBlockCardIds() {
+        List<Long> cardIds = jdbcTemplate.queryForList(
+                "SELECT id FROM cards ORDER BY id LIMIT 100000", Long.class);
+        Map<String, Long> expected = countByStatus(
+                "WHERE id <= ? AND NOT deleted AND status <> 'BLOCKED'", cardIds.get(cardIds.size() - 1));
+
+        CardStatusChangeResponse response = timed("ids", () -> cardService.changeStatuses(
+                CardStatusChangeRequest.builder().status(CardStatus.BLOCKED).cardIds(cardIds).build()));
+
+        assertThat(response.getPreviousStatuses()).containsOnlyKeys(CardStatus.ACTIVE, CardStatus.EXPIRED);
+        assertThat(response.getPreviousStatuses().get(CardStatus.ACTIVE)).isEqualTo(expected.get("ACTIVE"));
+        assertThat(response.getPreviousStatuses().get(CardStatus.EXPIRED)).isEqualTo(expected.get("EXPIRED"));
+    }
+
+    @Test
+    void changeStatuses_ShouldBlockFilteredCards() {
+        CardFilter filter = new CardFilter();
+        filter.setCardType(CardType.VISA);
+        filter.setStatus(CardStatus.ACTIVE);
+        long expected = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cards WHERE type = 'VISA' AND status = 'ACTIVE' AND NOT deleted", Long.class);
+
+        CardStatusChangeResponse response = timed("filter", () -> cardService.changeStatuses(
+                CardStatusChangeRequest.builder().status(CardStatus.BLOCKED).filter(filter).build()));
+
+        assertThat(response.getUpdated()).isEqualTo(expected);
+        assertThat(response.getPreviousStatuses()).containsExactly(Map.entry(CardStatus.ACTIVE, expected));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cards WHERE type = 'VISA' AND status = 'ACTIVE' AND NOT deleted", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cards WHERE type = 'VISA' AND status = 'BLOCKED' AND version = 1 AND NOT deleted",
+                Long.class)).isEqualTo(expected);
+    }
+
+    private Map<String, Long> countByStatus(String where, Object... args) {
+        return jdbcTemplate.query("SELECT status, count(*) FROM cards " + where + " GROUP BY status",
+                rs -> {
+                    Map<String, Long> counts = new HashMap<>();
+                    while (rs.next()) {
+                        counts.put(rs.getString(1), rs.getLong(2));
+                    }
+                    return counts;
+                }, args);
+    }
+
+    private static CardStatusChangeResponse timed(String path, Supplier<CardStatusChangeResponse> change) {
+        long start = System.nanoTime();
+        CardStatusChangeResponse response = change.get();
+        long elapsed = System.nanoTime() - start;
+        log.info("Bulk status change by {}: {} cards in {} ms ({} cards/s)", path, response.getUpdated(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), Math.round(response.getUpdated() * 1e9 / elapsed));
+        return response;
+    }
+}
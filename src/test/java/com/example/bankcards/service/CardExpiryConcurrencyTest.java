@@ -0,0 +1,83 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.service.card.CardExpiryJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs several expiry jobs at once against PostgreSQL, as several nodes would, and checks that
+ * {@code SKIP LOCKED} splits the expired cards between them without any card counted twice.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardExpiryConcurrencyTest {
+
+    private static final int CARDS = 50_000;
+    private static final int NODES = 4;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired private CardRepository cardRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> NODES + 1);
+    }
+
+    @Test
+    void expireCards_ShouldSplitWorkBetweenNodes() {
+        jdbcTemplate.update("""
+                INSERT INTO users (username, password, email, role, is_banned, created_at, updated_at)
+                VALUES ('owner', 'password', 'owner@example.com', 'USER', false, now(), now())""");
+        jdbcTemplate.update("""
+                INSERT INTO cards (id, number_encrypted, number_hash, number_mask, number_last4, owner_id, status,
+                                   expiration, type, deleted, balance, version)
+                SELECT nextval('cards_seq'), 'encrypted-' || g, md5(g::text), '**** **** ****0000', '0000',
+                       (SELECT id FROM users WHERE username = 'owner'), 'ACTIVE',
+                       now() + CASE WHEN g % 5 = 0 THEN interval '1 year' ELSE interval '-1 day' END,
+                       'VISA', false, 0, 0
+                FROM generate_series(1, ?) g""", CARDS);
+
+        List<CompletableFuture<Integer>> runs = IntStream.range(0, NODES)
+                .mapToObj(i -> new CardExpiryJob(cardRepository, new SimpleMeterRegistry(), 500, 1_000))
+                .map(job -> CompletableFuture.supplyAsync(job::expireCards))
+                .toList();
+        int expired = runs.stream().mapToInt(CompletableFuture::join).sum();
+
+        int expected = CARDS - CARDS / 5;
+        assertThat(expired).isEqualTo(expected);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM cards WHERE status = 'EXPIRED'", Integer.class))
+                .isEqualTo(expected);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM cards WHERE status <> 'EXPIRED' AND expiration < now()", Integer.class))
+                .isZero();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.service.card.CardExpiryJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExpiryJobTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CardExpiryJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new CardExpiryJob(cardRepository, meterRegistry, 100, 5);
+    }
+
+    @Test
+    void expireCards_ShouldStop_WhenChunkIsNotFull() {
+        when(cardRepository.expireBatch(any(LocalDateTime.class), eq(100))).thenReturn(100, 100, 37);
+
+        assertThat(job.expireCards()).isEqualTo(237);
+
+        verify(cardRepository, times(3)).expireBatch(any(LocalDateTime.class), eq(100));
+        assertThat(meterRegistry.counter("cards.expiry.expired").count()).isEqualTo(237);
+        assertThat(meterRegistry.timer("cards.expiry.run").count()).isEqualTo(1);
+    }
+
+    @Test
+    void expireCards_ShouldStop_AfterMaxBatches() {
+        when(cardRepository.expireBatch(any(LocalDateTime.class), eq(100))).thenReturn(100);
+
+        assertThat(job.expireCards()).isEqualTo(500);
+
+        verify(cardRepository, times(5)).expireBatch(any(LocalDateTime.class), eq(100));
+    }
+
+    @Test
+    void expireCards_ShouldUseSameCutoff_ForEveryChunk() {
+        when(cardRepository.expireBatch(any(LocalDateTime.class), eq(100))).thenReturn(100, 0);
+
+        job.expireCards();
+
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(cardRepository, times(2)).expireBatch(cutoffs.capture(), eq(100));
+        assertThat(cutoffs.getAllValues()).containsOnly(cutoffs.getAllValues().get(0));
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.request.CardIssueRequest;
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.security.CurrentUser;
+import com.example.bankcards.service.card.BinRangeRegistry;
+import com.example.bankcards.service.card.CardBalanceCache;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberCipher;
+import com.example.bankcards.service.card.CardNumberGenerate;
+import com.example.bankcards.service.card.CardServiceImpl;
+import com.example.bankcards.util.mapper.CardMapperImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bulk issuance against H2 with statistics on: owners are checked once and cards go out in JDBC
+ * batches with pooled sequence ids, so the statement count grows with the batch count only.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CardServiceImpl.class, CardMapperImpl.class, CurrentUser.class, CardNumberCipher.class})
+class CardIssueBatchTest {
+
+    private static final int OWNERS = 20;
+    private static final int CARDS = 2_000;
+
+    @Autowired private CardServiceImpl cardService;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @MockBean private CardNumberAllocator cardNumberAllocator;
+    @MockBean private CardBalanceCache cardBalanceCache;
+
+    private final List<Long> ownerIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < OWNERS; i++) {
+            ownerIds.add(testEntityManager.persistAndGetId(User.builder()
+                    .username("owner" + i)
+                    .password("password")
+                    .email("owner" + i + "@example.com")
+                    .role(Role.USER)
+                    .isBanned(false)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build(), Long.class));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        CardNumberGenerate cardNumberGenerate =
+                new CardNumberGenerate(new BinRangeRegistry(new ClassPathResource("bin-ranges.csv")));
+        when(cardNumberAllocator.allocate(any(CardType.class), anyInt())).thenAnswer(invocation ->
+                IntStream.range(0, invocation.<Integer>getArgument(1))
+                        .mapToObj(sequence -> cardNumberGenerate.generate(invocation.getArgument(0), sequence))
+                        .toList());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void createAll_ShouldInsertInBatches() {
+        List<CardIssueRequest> requests = IntStream.range(0, CARDS)
+                .mapToObj(i -> new CardIssueRequest(ownerIds.get(i % OWNERS),
+                        i % 2 == 0 ? CardType.VISA : CardType.MASTERCARD))
+                .toList();
+
+        List<CardResponse> cards = cardService.createAll(requests);
+
+        assertThat(cards).hasSize(CARDS);
+        assertThat(cards).extracting(CardResponse::getId).doesNotHaveDuplicates().doesNotContain(0L);
+        assertThat(cards.get(CARDS - 1).getOwnerId()).isEqualTo(ownerIds.get((CARDS - 1) % OWNERS));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(CARDS);
+        // one owner check, one sequence call per 50 ids and one prepared insert per 50-row batch
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + 2 * (CARDS / 50) + 2);
+        assertThat(cardRepository.count()).isEqualTo(CARDS);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.CardNumberBlock;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.exception.CardNumbersExhaustedException;
+import com.example.bankcards.repository.CardNumberBlockRepository;
+import com.example.bankcards.service.card.BinRangeRegistry;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberGenerate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardNumberAllocatorTest {
+
+    @Mock
+    private CardNumberBlockRepository cardNumberBlockRepository;
+
+    private final ConcurrentHashMap<String, AtomicLong> highWaterMarks = new ConcurrentHashMap<>();
+
+    private final CardNumberGenerate cardNumberGenerate =
+            new CardNumberGenerate(new BinRangeRegistry(new ClassPathResource("bin-ranges.csv")));
+
+    private CardNumberAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cardNumberBlockRepository.reserve(anyString(), anyInt())).thenAnswer(invocation ->
+                highWaterMarks.computeIfAbsent(invocation.getArgument(0), key -> new AtomicLong())
+                        .addAndGet(invocation.<Integer>getArgument(1)));
+        lenient().when(cardNumberBlockRepository.findById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(highWaterMarks.get(invocation.<String>getArgument(0)))
+                        .map(highWaterMark -> new CardNumberBlock(invocation.getArgument(0), highWaterMark.get())));
+        allocator = new CardNumberAllocator(cardNumberBlockRepository, cardNumberGenerate, 10);
+    }
+
+    @Test
+    void allocate_ShouldIssueDistinctLuhnValidNumbers_ForSameBin() {
+        List<String> numbers = IntStream.range(0, 25)
+                .mapToObj(i -> allocator.allocate(CardType.VISA))
+                .toList();
+
+        assertThat(new HashSet<>(numbers)).hasSize(25);
+        assertThat(numbers.get(0)).isEqualTo("4111110000000005");
+        assertThat(numbers).allSatisfy(number -> {
+            assertThat(number).hasSize(16).startsWith("411111");
+            assertThat(CardNumberGenerate.calculateLuhnCheckDigit(number.substring(0, 15)))
+                    .isEqualTo(number.charAt(15) - '0');
+        });
+        verify(cardNumberBlockRepository, times(3)).reserve("411111", 10);
+    }
+
+    @Test
+    void allocate_ShouldNotCollide_WhenNodesShareTheBlockTable() {
+        CardNumberAllocator otherNode = new CardNumberAllocator(cardNumberBlockRepository, cardNumberGenerate, 10);
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 200).parallel().forEach(i ->
+                numbers.add((i % 2 == 0 ? allocator : otherNode).allocate(CardType.MASTERCARD)));
+
+        assertThat(numbers).hasSize(200);
+    }
+
+    @Test
+    void allocateBulk_ShouldReserveOnce_ForTheWholeRequest() {
+        allocator.allocate(CardType.VISA);
+
+        List<String> numbers = allocator.allocate(CardType.VISA, 100);
+
+        assertThat(new HashSet<>(numbers)).hasSize(100).doesNotContain("4111110000000005");
+        verify(cardNumberBlockRepository).reserve("411111", 10);
+        verify(cardNumberBlockRepository).reserve("411111", 91);
+    }
+
+    @Test
+    void allocateBulk_ShouldFailBeforeReserving_WhenBinCannotCoverTheRequest() {
+        highWaterMarks.put("411111", new AtomicLong(CardNumberGenerate.MAX_SEQUENCE - 4));
+
+        assertThatThrownBy(() -> allocator.allocate(CardType.VISA, 6))
+                .isInstanceOf(CardNumbersExhaustedException.class)
+                .hasMessageContaining("5 numbers left");
+        verify(cardNumberBlockRepository, never()).reserve(anyString(), anyInt());
+
+        assertThat(allocator.allocate(CardType.VISA, 5)).hasSize(5);
+    }
+
+    @Test
+    void allocate_ShouldFail_WhenSequenceIsExhausted() {
+        highWaterMarks.put("411111", new AtomicLong(CardNumberGenerate.MAX_SEQUENCE + 1));
+
+        assertThatThrownBy(() -> allocator.allocate(CardType.VISA))
+                .isInstanceOf(CardNumbersExhaustedException.class)
+                .hasMessageContaining("411111");
+    }
+}
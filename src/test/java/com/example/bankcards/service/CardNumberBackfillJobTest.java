@@ -0,0 +1,96 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberBackfillJob;
+import com.example.bankcards.service.card.CardNumberCipher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recreates the legacy {@code number} column and {@code card_number_reissues} table the way V5 and
+ * V6 leave them, and checks that the backfill encrypts and reissues every card in small chunks.
+ */
+@DataJpaTest(properties = "cards.number-backfill.batch-size=2")
+@ActiveProfiles("test")
+@Import({CardNumberBackfillJob.class, CardNumberCipher.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardNumberBackfillJobTest {
+
+    @Autowired private CardNumberBackfillJob job;
+    @Autowired private CardNumberCipher cardNumberCipher;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @MockBean private CardNumberAllocator cardNumberAllocator;
+
+    private long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM cards");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.execute("ALTER TABLE cards ADD COLUMN IF NOT EXISTS number VARCHAR(19)");
+        for (String column : List.of("number_encrypted", "number_hash", "number_mask", "number_last4")) {
+            jdbcTemplate.execute("ALTER TABLE cards ALTER COLUMN " + column + " DROP NOT NULL");
+        }
+        jdbcTemplate.execute("DROP TABLE IF EXISTS card_number_reissues");
+        jdbcTemplate.execute("""
+                CREATE TABLE card_number_reissues (
+                  card_id BIGINT PRIMARY KEY,
+                  number VARCHAR(19) NOT NULL
+                )""");
+        jdbcTemplate.update("""
+                INSERT INTO users (username, password, email, role, is_banned, created_at, updated_at)
+                VALUES ('owner', 'password', 'owner@example.com', 'USER', false, now(), now())""");
+        ownerId = jdbcTemplate.queryForObject("SELECT id FROM users", Long.class);
+    }
+
+    @Test
+    void backfill_ShouldEncryptLegacyNumbersAndReissueDuplicates() {
+        insertCard(1, "4111110000010002");
+        insertCard(2, "4111110000010010");
+        insertCard(3, "5111110000010009");
+        insertCard(4, null);
+        jdbcTemplate.update("INSERT INTO card_number_reissues (card_id, number) VALUES (4, '4111110000010002')");
+        when(cardNumberAllocator.allocate(CardType.VISA)).thenReturn("4111110000010028");
+
+        assertThat(job.backfill()).isEqualTo(4);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards WHERE number IS NOT NULL", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card_number_reissues", Integer.class)).isZero();
+        Card reissued = cardRepository.findById(4L).orElseThrow();
+        assertThat(cardNumberCipher.decrypt(reissued.getEncryptedCardNumber())).isEqualTo("4111110000010028");
+        assertThat(reissued.getCardNumberHash()).isEqualTo(cardNumberCipher.blindIndex("4111110000010028"));
+        assertThat(reissued.getCardMask()).isEqualTo("**** **** ****0028");
+        assertThat(reissued.getLastFour()).isEqualTo("0028");
+        Card encrypted = cardRepository.findById(3L).orElseThrow();
+        assertThat(cardNumberCipher.decrypt(encrypted.getEncryptedCardNumber())).isEqualTo("5111110000010009");
+        assertThat(encrypted.getLastFour()).isEqualTo("0009");
+
+        assertThat(job.backfill()).isZero();
+    }
+
+    private void insertCard(long id, String number) {
+        jdbcTemplate.update("""
+                INSERT INTO cards (id, number, owner_id, status, expiration, type, deleted, balance, version)
+                VALUES (?, ?, ?, 'ACTIVE', now(), ?, false, 0, 0)""",
+                id, number, ownerId, number != null && number.startsWith("5") ? "MASTERCARD" : "VISA");
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.EncryptedCardNumber;
+import com.example.bankcards.service.card.CardNumberCipher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CardNumberCipherTest {
+
+    private static final String KEY = "LDZpiRVfEI6Ab6egag+JsGMtb6k80acr33szup4nyXw=";
+    private static final String INDEX_KEY = "iPaTIgPsKIsCAgdB3f4YZzrfksrgP3A7lm+Vzp73aTc=";
+    private static final String OTHER_KEY = "Xq3mZb6m4l0xkE1W8n7QeH2vJc9rT5yUa0sDfGhJkLs=";
+
+    private final CardNumberCipher cipher = new CardNumberCipher(KEY, INDEX_KEY);
+
+    @Test
+    void encrypt_ShouldRoundTripAndPrecomputeMask() {
+        EncryptedCardNumber encrypted = cipher.encrypt("4111110000420005");
+
+        assertThat(encrypted.getEncryptedCardNumber()).doesNotContain("4111110000420005");
+        assertThat(encrypted.getCardMask()).isEqualTo("**** **** ****0005");
+        assertThat(cipher.decrypt(encrypted.getEncryptedCardNumber())).isEqualTo("4111110000420005");
+    }
+
+    @Test
+    void encrypt_ShouldUseFreshIv_ButStableBlindIndex() {
+        EncryptedCardNumber first = cipher.encrypt("4111110000420005");
+        EncryptedCardNumber second = cipher.encrypt("4111110000420005");
+
+        assertThat(first.getEncryptedCardNumber()).isNotEqualTo(second.getEncryptedCardNumber());
+        assertThat(first.getCardNumberHash())
+                .isEqualTo(second.getCardNumberHash())
+                .isEqualTo(cipher.blindIndex("4111110000420005"))
+                .hasSize(64);
+        assertThat(cipher.blindIndex("4111110000420013")).isNotEqualTo(first.getCardNumberHash());
+    }
+
+    @Test
+    void decrypt_ShouldFail_WhenCiphertextIsTampered() {
+        byte[] stored = Base64.getDecoder().decode(cipher.encrypt("4111110000420005").getEncryptedCardNumber());
+        stored[stored.length - 1] ^= 1;
+
+        assertThatThrownBy(() -> cipher.decrypt(Base64.getEncoder().encodeToString(stored)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void decrypt_ShouldFail_WhenKeyDiffers() {
+        String encrypted = new CardNumberCipher(OTHER_KEY, INDEX_KEY).encrypt("4111110000420005").getEncryptedCardNumber();
+
+        assertThatThrownBy(() -> cipher.decrypt(encrypted)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void decryptAll_ShouldKeepOrder() {
+        List<String> numbers = List.of("4111110000420005", "5555550000070006");
+
+        List<String> encrypted = numbers.stream()
+                .map(number -> cipher.encrypt(number).getEncryptedCardNumber())
+                .toList();
+
+        assertThat(cipher.decryptAll(encrypted)).isEqualTo(numbers);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardSpecifications;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each admin search combination against a seeded PostgreSQL table, with the schema and
+ * partial indexes built by the Flyway migrations, and checks the plan of the generated SQL never
+ * falls back to a sequential scan of cards.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.bankcards.service.CardSearchExplainTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardSearchExplainTest {
+
+    private static final int USERS = 10_000;
+    private static final int CARDS = 200_000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /** GENERIC_PLAN leaves $n placeholders unbound, which only the simple query protocol accepts. */
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withUrlParam("preferQueryMode", "simple");
+
+    private static boolean seeded;
+
+    @Autowired private CardRepository cardRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO users (username, password, email, role, is_banned, created_at, updated_at)
+                SELECT 'user' || g, 'password', 'user' || g || '@example.com', 'USER', false, now(), now()
+                FROM generate_series(1, ?) g""", USERS);
+        jdbcTemplate.update("""
+                INSERT INTO cards (id, number_encrypted, number_hash, number_mask, number_last4, owner_id, status,
+                                   expiration, type, deleted, balance, version)
+                SELECT nextval('cards_seq'), 'encrypted-' || g, md5(g::text), '**** **** ****' || lpad((g % 10000)::text, 4, '0'),
+                       lpad((g % 10000)::text, 4, '0'), 1 + g % ?,
+                       (ARRAY['ACTIVE', 'BLOCKED', 'EXPIRED'])[1 + g % 3],
+                       timestamp '2025-01-01' + (g % 3650) * interval '1 day',
+                       (ARRAY['VISA', 'MASTERCARD'])[1 + g % 2],
+                       g % 10 = 0, (g * 7919 % 1000000) / 100.0, 0
+                FROM generate_series(1, ?) g""", USERS, CARDS);
+        jdbcTemplate.execute("VACUUM ANALYZE cards");
+        seeded = true;
+    }
+
+    @Test
+    void searchByOwner_ShouldUseIndex() {
+        assertIndexBacked(filter -> filter.setOwnerId(42L));
+    }
+
+    @Test
+    void searchByOwnerAndStatus_ShouldUseIndex() {
+        assertIndexBacked(filter -> {
+            filter.setOwnerId(42L);
+            filter.setStatus(CardStatus.ACTIVE);
+        });
+    }
+
+    @Test
+    void searchByLastFour_ShouldUseIndex() {
+        assertIndexBacked(filter -> filter.setLastFour("1234"));
+    }
+
+    @Test
+    void searchByExpiryRange_ShouldUseIndex() {
+        assertIndexBacked(filter -> {
+            filter.setExpiresFrom(EPOCH.plusYears(3));
+            filter.setExpiresTo(EPOCH.plusYears(3).plusWeeks(1));
+        });
+    }
+
+    @Test
+    void searchByBalanceRange_ShouldUseIndex() {
+        assertIndexBacked(filter -> {
+            filter.setMinBalance(new BigDecimal("100.00"));
+            filter.setMaxBalance(new BigDecimal("101.00"));
+        });
+    }
+
+    @Test
+    void searchByStatusTypeAndExpiry_ShouldUseIndex() {
+        assertIndexBacked(filter -> {
+            filter.setStatus(CardStatus.BLOCKED);
+            filter.setCardType(CardType.MASTERCARD);
+            filter.setExpiresFrom(EPOCH.plusYears(5));
+            filter.setExpiresTo(EPOCH.plusYears(5).plusMonths(1));
+        });
+    }
+
+    @Test
+    void searchByAnyFilterCombination_ShouldUseIndex() {
+        List<Consumer<CardFilter>> filters = List.of(
+                filter -> filter.setOwnerId(42L),
+                filter -> filter.setStatus(CardStatus.BLOCKED),
+                filter -> filter.setCardType(CardType.MASTERCARD),
+                filter -> {
+                    filter.setExpiresFrom(EPOCH.plusYears(3));
+                    filter.setExpiresTo(EPOCH.plusYears(3).plusWeeks(1));
+                },
+                filter -> {
+                    filter.setMinBalance(new BigDecimal("100.00"));
+                    filter.setMaxBalance(new BigDecimal("101.00"));
+                },
+                filter -> filter.setLastFour("1234"));
+        for (int combination = 1; combination < 1 << filters.size(); combination++) {
+            int selected = combination;
+            assertIndexBacked(filter -> {
+                for (int i = 0; i < filters.size(); i++) {
+                    if ((selected & 1 << i) != 0) {
+                        filters.get(i).accept(filter);
+                    }
+                }
+            });
+        }
+    }
+
+    private void assertIndexBacked(Consumer<CardFilter> customizer) {
+        CardFilter filter = new CardFilter();
+        customizer.accept(filter);
+        CapturingInspector.STATEMENTS.clear();
+
+        cardRepository.findAll(CardSpecifications.matching(filter), PageRequest.of(0, 20, Sort.by("id")));
+
+        String select = CapturingInspector.STATEMENTS.get(0);
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(select), String.class);
+        assertThat(String.join("\n", plan))
+                .as("plan for %s", select)
+                .doesNotContain("Seq Scan on cards")
+                .containsPattern("Index (Only )?Scan|Bitmap Index Scan");
+    }
+
+    /** GENERIC_PLAN takes $n placeholders where Hibernate renders JDBC's ?. */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.CardSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CardSearchTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired private CardRepository cardRepository;
+    @Autowired private TestEntityManager testEntityManager;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        alice = testEntityManager.persist(user("alice"));
+        User bob = testEntityManager.persist(user("bob"));
+        persist(alice, "1111", CardType.VISA, CardStatus.ACTIVE, NOW.plusYears(1), 100, false);
+        persist(alice, "2222", CardType.MASTERCARD, CardStatus.BLOCKED, NOW.plusYears(2), 5_000, false);
+        persist(bob, "3333", CardType.VISA, CardStatus.ACTIVE, NOW.plusYears(3), 50, false);
+        persist(bob, "4444", CardType.VISA, CardStatus.EXPIRED, NOW.minusDays(1), 0, false);
+        persist(bob, "5555", CardType.VISA, CardStatus.ACTIVE, NOW.plusYears(1), 100, true);
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void matching_ShouldSkipDeletedCards_WhenNoFilterIsGiven() {
+        assertThat(search(filter -> {})).containsExactly("1111", "2222", "3333", "4444");
+    }
+
+    @Test
+    void matching_ShouldFilterByStatusAndType() {
+        assertThat(search(filter -> {
+            filter.setStatus(CardStatus.ACTIVE);
+            filter.setCardType(CardType.VISA);
+        })).containsExactly("1111", "3333");
+    }
+
+    @Test
+    void matching_ShouldFilterByExpiryRange_WithExclusiveUpperBound() {
+        assertThat(search(filter -> {
+            filter.setExpiresFrom(NOW);
+            filter.setExpiresTo(NOW.plusYears(2));
+        })).containsExactly("1111");
+    }
+
+    @Test
+    void matching_ShouldFilterByInclusiveBalanceRange() {
+        assertThat(search(filter -> {
+            filter.setMinBalance(BigDecimal.valueOf(50));
+            filter.setMaxBalance(BigDecimal.valueOf(100));
+        })).containsExactly("1111", "3333");
+    }
+
+    @Test
+    void matching_ShouldFilterByOwnerAndLastFour() {
+        assertThat(search(filter -> filter.setOwnerId(alice.getId()))).containsExactly("1111", "2222");
+        assertThat(search(filter -> filter.setLastFour("3333"))).containsExactly("3333");
+        assertThat(search(filter -> filter.setLastFour("5555"))).isEmpty();
+    }
+
+    private List<String> search(Consumer<CardFilter> customizer) {
+        CardFilter filter = new CardFilter();
+        customizer.accept(filter);
+        return cardRepository.findAll(CardSpecifications.matching(filter), Sort.by("id")).stream()
+                .map(Card::getLastFour)
+                .toList();
+    }
+
+    private void persist(User owner, String lastFour, CardType type, CardStatus status,
+                         LocalDateTime expiration, long balance, boolean deleted) {
+        testEntityManager.persist(Card.builder()
+                .encryptedCardNumber("encrypted-" + lastFour)
+                .cardNumberHash("hash-" + lastFour)
+                .cardMask("**** **** ****" + lastFour)
+                .lastFour(lastFour)
+                .owner(owner)
+                .cardType(type)
+                .cardStatus(status)
+                .expirationDate(expiration)
+                .isDeleted(deleted)
+                .balance(BigDecimal.valueOf(balance))
+                .build());
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}
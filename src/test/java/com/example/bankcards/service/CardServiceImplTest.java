@@ -1,39 +1,59 @@
 package com.example.bankcards.service;
 
+import com.example.bankcards.dto.CardBalance;
+import com.example.bankcards.dto.EncryptedCardNumber;
 import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.request.CardIssueRequest;
+import com.example.bankcards.dto.request.CardStatusChangeRequest;
 import com.example.bankcards.dto.request.CardTypeRequest;
 import com.example.bankcards.dto.response.BalanceResponse;
 import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.CardStatusChangeResponse;
+import com.example.bankcards.dto.response.CursorPage;
 import com.example.bankcards.entity.Card;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.entity.enums.CardStatus;
 import com.example.bankcards.entity.enums.CardType;
 import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.exception.CardNotFoundException;
+import com.example.bankcards.exception.InvalidCursorException;
+import com.example.bankcards.exception.UserNotFoundException;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.UserRepository;
-import com.example.bankcards.service.card.CardNumberGenerate;
+import com.example.bankcards.security.CurrentUser;
+import com.example.bankcards.service.card.CardBalanceCache;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberCipher;
 import com.example.bankcards.service.card.CardServiceImpl;
+import com.example.bankcards.util.Cursor;
 import com.example.bankcards.util.mapper.CardMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,11 +69,23 @@ class CardServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private CardNumberGenerate cardNumberGenerate;
+    private CardNumberAllocator cardNumberAllocator;
+
+    @Mock
+    private CardNumberCipher cardNumberCipher;
+
+    @Mock
+    private CurrentUser currentUser;
 
     @Mock
     private CardMapper cardMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CardBalanceCache cardBalanceCache;
+
     private Card card;
     private User user;
     private CardResponse cardResponse;
@@ -68,7 +100,10 @@ class CardServiceImplTest {
 
         card = Card.builder()
                 .id(1L)
-                .cardNumber("4111111234567890")
+                .encryptedCardNumber("encrypted")
+                .cardNumberHash("hash")
+                .cardMask("**** **** ****7890")
+                .lastFour("7890")
                 .owner(user)
                 .cardType(CardType.VISA)
                 .cardStatus(CardStatus.ACTIVE)
@@ -84,7 +119,9 @@ class CardServiceImplTest {
         CardTypeRequest typeRequest = new CardTypeRequest();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(cardNumberGenerate.generate(any(), any(), any())).thenReturn("4111111234567890");
+        when(cardNumberAllocator.allocate(any())).thenReturn("4111111234567890");
+        when(cardNumberCipher.encrypt("4111111234567890"))
+                .thenReturn(new EncryptedCardNumber("encrypted", "**** **** ****7890", "hash"));
         when(cardRepository.save(any(Card.class))).thenReturn(card);
         when(cardMapper.toDto(any())).thenReturn(cardResponse);
 
@@ -94,6 +131,71 @@ class CardServiceImplTest {
         verify(cardRepository).save(any(Card.class));
     }
 
+    @Test
+    void createAll_shouldAllocateOncePerType() {
+        List<CardIssueRequest> requests = List.of(
+                new CardIssueRequest(1L, CardType.VISA),
+                new CardIssueRequest(2L, CardType.VISA),
+                new CardIssueRequest(1L, CardType.MASTERCARD));
+
+        when(userRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L, 2L));
+        when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+        when(cardNumberAllocator.allocate(CardType.VISA, 2)).thenReturn(List.of("4111111234567890", "4111111234567891"));
+        when(cardNumberAllocator.allocate(CardType.MASTERCARD, 1)).thenReturn(List.of("5111111234567890"));
+        when(cardNumberCipher.encrypt(any())).thenReturn(new EncryptedCardNumber("encrypted", "**** **** ****7890", "hash"));
+        when(cardRepository.saveAll(any())).thenAnswer(invocation -> List.copyOf(invocation.<List<Card>>getArgument(0)));
+        when(cardMapper.toDto(any())).thenReturn(cardResponse);
+
+        List<CardResponse> result = cardService.createAll(requests);
+
+        assertEquals(3, result.size());
+        verify(cardNumberAllocator).allocate(CardType.VISA, 2);
+        verify(cardNumberAllocator).allocate(CardType.MASTERCARD, 1);
+        verify(cardNumberCipher, times(3)).encrypt(any());
+        verify(entityManager).flush();
+    }
+
+    @Test
+    void createAll_shouldRejectUnknownOwners() {
+        List<CardIssueRequest> requests = List.of(
+                new CardIssueRequest(1L, CardType.VISA),
+                new CardIssueRequest(2L, CardType.VISA));
+
+        when(userRepository.findExistingIds(Set.of(1L, 2L))).thenReturn(Set.of(1L));
+
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> cardService.createAll(requests));
+
+        assertTrue(exception.getMessage().contains("2"));
+        verifyNoInteractions(cardNumberAllocator, cardRepository);
+    }
+
+    @Test
+    void changeStatuses_shouldUpdateIdsInSortedChunks_AndSumPreviousStatuses() {
+        List<Long> cardIds = new ArrayList<>(LongStream.rangeClosed(1, 2500).boxed().toList());
+        Collections.reverse(cardIds);
+        cardIds.add(7L);
+        CardStatusChangeRequest request = CardStatusChangeRequest.builder()
+                .status(CardStatus.BLOCKED)
+                .cardIds(cardIds)
+                .build();
+
+        when(cardRepository.changeStatuses(any(), eq("BLOCKED"))).thenReturn(
+                List.<Object[]>of(new Object[]{"ACTIVE", 900L}, new Object[]{"EXPIRED", 100L}),
+                List.<Object[]>of(new Object[]{"ACTIVE", 1000L}),
+                List.<Object[]>of(new Object[]{"ACTIVE", 499L}));
+
+        CardStatusChangeResponse result = cardService.changeStatuses(request);
+
+        assertEquals(CardStatus.BLOCKED, result.getStatus());
+        assertEquals(2499L, result.getUpdated());
+        assertEquals(Map.of(CardStatus.ACTIVE, 2399L, CardStatus.EXPIRED, 100L), result.getPreviousStatuses());
+        ArgumentCaptor<List<Long>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(cardRepository, times(3)).changeStatuses(chunks.capture(), eq("BLOCKED"));
+        assertEquals(List.of(1000, 1000, 500), chunks.getAllValues().stream().map(List::size).toList());
+        assertEquals(1L, chunks.getAllValues().get(0).get(0));
+        assertEquals(2500L, chunks.getAllValues().get(2).get(499));
+    }
+
     @Test
     void changeStatus_shouldChangeCardStatus() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
@@ -119,38 +221,85 @@ class CardServiceImplTest {
 
     @Test
     void findCardById_shouldReturnCard() {
-        mockSecurityContext();
-
-        when(userRepository.findByUsername("tester")).thenReturn(Optional.of(user));
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
-        when(cardMapper.toDto(any())).thenReturn(cardResponse);
+        when(cardRepository.findResponseById(1L)).thenReturn(Optional.of(cardResponse));
 
         CardResponse result = cardService.findCardById(1L);
 
         assertEquals(cardResponse, result);
+        verifyNoInteractions(userRepository, currentUser);
     }
 
     @Test
-    void blockCard_shouldThrowIfCardActive() {
-        mockSecurityContext();
-        card.setCardStatus(CardStatus.ACTIVE);
+    void findOwnCardById_shouldLookUpCardScopedToCaller() {
+        when(currentUser.id()).thenReturn(1L);
+        when(cardRepository.findOwnCardById(1L, 1L)).thenReturn(Optional.of(cardResponse));
 
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        CardResponse result = cardService.findOwnCardById(1L);
+
+        assertEquals(cardResponse, result);
+    }
+
+    @Test
+    void findOwnCardById_shouldThrowIfCardBelongsToAnotherUser() {
+        when(currentUser.id()).thenReturn(2L);
+        when(cardRepository.findOwnCardById(1L, 2L)).thenReturn(Optional.empty());
+
+        assertThrows(CardNotFoundException.class, () -> cardService.findOwnCardById(1L));
+    }
+
+    @Test
+    void blockCard_shouldThrowIfCardNotActive() {
+        cardResponse.setCardStatus(CardStatus.EXPIRED);
+
+        when(cardRepository.blockIfActive(1L)).thenReturn(0);
+        when(cardRepository.findResponseById(1L)).thenReturn(Optional.of(cardResponse));
 
         IllegalStateException ex = assertThrows(IllegalStateException.class,
                 () -> cardService.blockCard(1L));
-        assertEquals("Active card can be blocked", ex.getMessage());
+        assertEquals("Only an active card can be blocked", ex.getMessage());
     }
 
     @Test
-    void getBalance_shouldReturnCardBalance() {
-        mockSecurityContext();
+    void blockCard_shouldThrowIfCardNotFound() {
+        when(cardRepository.blockIfActive(1L)).thenReturn(0);
+        when(cardRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
-        when(cardRepository.findById(1L)).thenReturn(Optional.of(card));
+        assertThrows(CardNotFoundException.class, () -> cardService.blockCard(1L));
+    }
+
+    @Test
+    void blockOwnCard_shouldUpdateStatusOnly() {
+        cardResponse.setId(1L);
+        cardResponse.setCardStatus(CardStatus.BLOCKED);
+
+        when(currentUser.id()).thenReturn(1L);
+        when(cardRepository.blockOwnIfActive(1L, 1L)).thenReturn(1);
+        when(cardRepository.findOwnCardById(1L, 1L)).thenReturn(Optional.of(cardResponse));
+
+        CardResponse result = cardService.blockOwnCard(1L);
+
+        assertEquals(CardStatus.BLOCKED, result.getCardStatus());
+        verify(cardRepository).blockOwnIfActive(1L, 1L);
+        verify(cardRepository, never()).save(any());
+    }
+
+    @Test
+    void getBalance_shouldReturnCachedBalance() {
+        when(currentUser.id()).thenReturn(1L);
+        when(cardBalanceCache.get(1L)).thenReturn(new CardBalance(1L, BigDecimal.TEN, 3L));
 
         BalanceResponse result = cardService.getBalance(1L);
 
-        assertEquals(BigDecimal.ZERO, result.getBalance());
+        assertEquals(BigDecimal.TEN, result.getBalance());
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void getBalance_shouldRejectCardOfAnotherOwner() {
+        when(currentUser.id()).thenReturn(2L);
+        when(cardBalanceCache.get(1L)).thenReturn(new CardBalance(1L, BigDecimal.TEN, 3L));
+
+        assertThrows(CardNotFoundException.class, () -> cardService.getBalance(1L));
     }
 
     @Test
@@ -166,11 +315,62 @@ class CardServiceImplTest {
         verify(cardRepository).findAll(any(PageRequest.class));
     }
 
-    private void mockSecurityContext() {
-        Authentication auth = mock(Authentication.class);
-        when(auth.getName()).thenReturn("tester");
-        SecurityContext context = mock(SecurityContext.class);
-        when(context.getAuthentication()).thenReturn(auth);
-        SecurityContextHolder.setContext(context);
+    @Test
+    void getAllCardsByCursor_shouldSeekAfterCursorAndReturnNextCursor() {
+        Card next = Card.builder().id(2L).build();
+        Card extra = Card.builder().id(3L).build();
+        when(cardRepository.findPageAfter(1L, Limit.of(2))).thenReturn(List.of(next, extra));
+        when(cardMapper.toDto(next)).thenReturn(cardResponse);
+
+        CursorPage<CardResponse> result = cardService.getAllCardsByCursor(new CardFilter(null, 1, Cursor.encode(1L)));
+
+        assertEquals(List.of(cardResponse), result.getContent());
+        assertEquals(2L, Cursor.decode(result.getNextCursor()));
+        verify(cardMapper, never()).toDto(extra);
+        verify(cardRepository, never()).count();
+    }
+
+    @Test
+    void getAllCardsByCursor_shouldReturnNoCursor_OnLastPage() {
+        when(cardRepository.findPageAfter(0L, Limit.of(11))).thenReturn(List.of(card));
+        when(cardMapper.toDto(card)).thenReturn(cardResponse);
+
+        CursorPage<CardResponse> result = cardService.getAllCardsByCursor(new CardFilter(null, 10, ""));
+
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getOwnCards_shouldQueryProjectionForCurrentUser() {
+        when(currentUser.id()).thenReturn(1L);
+        when(cardRepository.findOwnCards(1L, PageRequest.of(0, 10))).thenReturn(new PageImpl<>(List.of(cardResponse)));
+
+        Page<CardResponse> result = cardService.getOwnCards(new CardFilter(0, 10));
+
+        assertEquals(List.of(cardResponse), result.getContent());
+        verify(cardRepository, never()).findAll(any(PageRequest.class));
+        verifyNoInteractions(cardMapper, userRepository);
+    }
+
+    @Test
+    void getOwnCardsByCursor_shouldSeekWithinCurrentUsersCards() {
+        CardResponse first = CardResponse.builder().id(5L).build();
+        CardResponse extra = CardResponse.builder().id(9L).build();
+        when(currentUser.id()).thenReturn(1L);
+        when(cardRepository.findOwnCardsAfter(1L, 0L, Limit.of(2))).thenReturn(List.of(first, extra));
+
+        CursorPage<CardResponse> result = cardService.getOwnCardsByCursor(new CardFilter(null, 1, null));
+
+        assertEquals(List.of(first), result.getContent());
+        assertEquals(5L, Cursor.decode(result.getNextCursor()));
+        verifyNoInteractions(cardMapper);
+    }
+
+    @Test
+    void getAllCardsByCursor_shouldReject_WhenCursorIsNotOurs() {
+        assertThrows(InvalidCursorException.class,
+                () -> cardService.getAllCardsByCursor(new CardFilter(null, 10, "not-a-cursor")));
+        verifyNoInteractions(cardRepository);
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.request.CardStatusChangeRequest;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.security.CurrentUser;
+import com.example.bankcards.service.card.BinRangeRegistry;
+import com.example.bankcards.service.card.CardBalanceCache;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberCipher;
+import com.example.bankcards.service.card.CardNumberGenerate;
+import com.example.bankcards.service.card.CardServiceImpl;
+import com.example.bankcards.util.mapper.CardMapperImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The status update itself is PostgreSQL SQL, so here it is stubbed and the test checks how a
+ * filter is cut into keyset chunks of card ids; the update is exercised in
+ * {@link CardBulkStatusChangeTest}.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CardServiceImpl.class, CardMapperImpl.class, CurrentUser.class, CardNumberCipher.class,
+        CardNumberAllocator.class, CardNumberGenerate.class, BinRangeRegistry.class})
+class CardStatusChangeChunkingTest {
+
+    private static final int CARDS = 2_600;
+
+    @Autowired private CardServiceImpl cardService;
+    @Autowired private TestEntityManager testEntityManager;
+
+    @SpyBean private CardRepository cardRepository;
+    @MockBean private CardBalanceCache cardBalanceCache;
+
+    private final List<Long> visaIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User owner = testEntityManager.persist(User.builder()
+                .username("owner")
+                .password("password")
+                .email("owner@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        for (int i = 0; i < CARDS; i++) {
+            Card card = testEntityManager.persist(Card.builder()
+                    .encryptedCardNumber("encrypted-" + i)
+                    .cardNumberHash("hash-" + i)
+                    .cardMask("**** **** ****0000")
+                    .lastFour("0000")
+                    .owner(owner)
+                    .cardType(i % 5 == 0 ? CardType.MASTERCARD : CardType.VISA)
+                    .cardStatus(CardStatus.ACTIVE)
+                    .expirationDate(LocalDateTime.now().plusYears(1))
+                    .isDeleted(i % 7 == 0)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            if (card.getCardType() == CardType.VISA && !card.isDeleted()) {
+                visaIds.add(card.getId());
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void changeStatuses_ShouldWalkFilterInKeysetChunks() {
+        doReturn(List.<Object[]>of(new Object[]{"ACTIVE", 1000L}))
+                .when(cardRepository).changeStatuses(any(), eq("BLOCKED"));
+        CardFilter filter = new CardFilter();
+        filter.setCardType(CardType.VISA);
+
+        cardService.changeStatuses(new CardStatusChangeRequest(CardStatus.BLOCKED, null, filter));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> chunks = ArgumentCaptor.forClass(Collection.class);
+        int expectedChunks = (visaIds.size() + 999) / 1000;
+        verify(cardRepository, times(expectedChunks)).changeStatuses(chunks.capture(), eq("BLOCKED"));
+        assertThat(chunks.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(1000));
+        assertThat(chunks.getAllValues().stream().flatMap(Collection::stream).toList())
+                .containsExactlyElementsOf(visaIds);
+    }
+}
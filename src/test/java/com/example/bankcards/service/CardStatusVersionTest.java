@@ -0,0 +1,95 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Status updates that bypass the entity must still bump the version, or a card loaded before them,
+ * as a transfer does, could be flushed over the new status.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CardStatusVersionTest {
+
+    @Autowired private CardRepository cardRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void flushOfStaleCard_ShouldFail_AfterExpireBatch() {
+        long cardId = saveCard(LocalDateTime.now().minusDays(1)).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        TransactionTemplate expiryTransaction = new TransactionTemplate(transactionManager);
+        expiryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transaction.executeWithoutResult(status -> {
+            Card stale = entityManager.find(Card.class, cardId);
+            Integer expired = expiryTransaction.execute(expiry -> cardRepository.expireBatch(LocalDateTime.now(), 10));
+            assertThat(expired).isEqualTo(1);
+
+            stale.setBalance(BigDecimal.TEN);
+            assertThatThrownBy(entityManager::flush).isInstanceOf(OptimisticLockException.class);
+            status.setRollbackOnly();
+        });
+
+        Card current = cardRepository.findById(cardId).orElseThrow();
+        assertThat(current.getCardStatus()).isEqualTo(CardStatus.EXPIRED);
+        assertThat(current.getBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(current.getVersion()).isEqualTo(1);
+    }
+
+    private Card saveCard(LocalDateTime expiration) {
+        User owner = userRepository.save(User.builder()
+                .username("owner")
+                .password("password")
+                .email("owner@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        return cardRepository.save(Card.builder()
+                .encryptedCardNumber("encrypted")
+                .cardNumberHash("hash")
+                .cardMask("**** **** ****0000")
+                .lastFour("0000")
+                .owner(owner)
+                .cardType(CardType.VISA)
+                .cardStatus(CardStatus.ACTIVE)
+                .expirationDate(expiration)
+                .isDeleted(false)
+                .balance(BigDecimal.ZERO)
+                .build());
+    }
+}
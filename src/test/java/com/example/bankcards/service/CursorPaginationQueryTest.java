@@ -0,0 +1,92 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.filter.UserFilter;
+import com.example.bankcards.dto.response.CursorPage;
+import com.example.bankcards.dto.response.UserResponse;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.service.user.UserDetailsCache;
+import com.example.bankcards.service.user.UserServiceImpl;
+import com.example.bankcards.util.mapper.UserMapperImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserServiceImpl.class, UserDetailsCache.class, UserMapperImpl.class,
+        CursorPaginationQueryTest.MetricsTestConfig.class})
+class CursorPaginationQueryTest {
+
+    private static final int USERS = 7;
+
+    @Autowired private UserServiceImpl userService;
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < USERS; i++) {
+            testEntityManager.persist(User.builder()
+                    .username("user" + i)
+                    .password("password")
+                    .email("user" + i + "@example.com")
+                    .role(Role.USER)
+                    .isBanned(false)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllUsersByCursor_ShouldWalkAllRowsWithOneQueryPerPage() {
+        List<String> usernames = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<UserResponse> page = userService.getAllUsersByCursor(new UserFilter(null, 3, cursor));
+            page.getContent().forEach(user -> usernames.add(user.getUsername()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(usernames).containsExactly("user0", "user1", "user2", "user3", "user4", "user5", "user6");
+        assertThat(pages).isEqualTo(3);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(pages);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    @TestConfiguration
+    static class MetricsTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.filter.CardFilter;
+import com.example.bankcards.dto.response.BalanceResponse;
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.dto.response.TransferResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Transfer;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.entity.enums.TransferStatus;
+import com.example.bankcards.exception.CardNotFoundException;
+import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.security.CurrentUser;
+import com.example.bankcards.service.card.BinRangeRegistry;
+import com.example.bankcards.service.card.CardBalanceCache;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberCipher;
+import com.example.bankcards.service.card.CardNumberGenerate;
+import com.example.bankcards.service.card.CardServiceImpl;
+import com.example.bankcards.service.invalidation.InMemoryInvalidationChannel;
+import com.example.bankcards.service.transfer.TransferServiceImpl;
+import com.example.bankcards.util.mapper.CardMapperImpl;
+import com.example.bankcards.util.mapper.TransferMapper;
+import com.example.bankcards.util.mapper.TransferMapperImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Upper bounds on the statements each read path issues, so that an association switched back to
+ * eager loading, or a mapper that starts walking one, fails here as an N+1.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CardServiceImpl.class, CardMapperImpl.class, CurrentUser.class, CardNumberCipher.class,
+        CardNumberAllocator.class, CardNumberGenerate.class, BinRangeRegistry.class, CardBalanceCache.class, InMemoryInvalidationChannel.class, TransferServiceImpl.class,
+        TransferMapperImpl.class})
+class EntityFetchQueryCountTest {
+
+    private static final int OWNERS = 5;
+
+    @Autowired private CardServiceImpl cardService;
+    @Autowired private TransferServiceImpl transferService;
+    @Autowired private TransferRepository transferRepository;
+    @Autowired private TransferMapper transferMapper;
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private final List<Card> cards = new ArrayList<>();
+    private final List<Transfer> transfers = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < OWNERS; i++) {
+            User owner = testEntityManager.persist(User.builder()
+                    .username("owner" + i)
+                    .password("password")
+                    .email("owner" + i + "@example.com")
+                    .role(Role.USER)
+                    .isBanned(false)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            cards.add(testEntityManager.persist(Card.builder()
+                    .encryptedCardNumber("encrypted-" + i)
+                    .cardNumberHash("hash-" + i)
+                    .cardMask("**** **** ****000" + i)
+                    .lastFour("000" + i)
+                    .owner(owner)
+                    .cardType(CardType.VISA)
+                    .cardStatus(CardStatus.ACTIVE)
+                    .expirationDate(LocalDateTime.now().plusYears(5))
+                    .isDeleted(false)
+                    .balance(BigDecimal.valueOf(1000))
+                    .build()));
+        }
+        for (int i = 0; i < OWNERS; i++) {
+            transfers.add(testEntityManager.persist(Transfer.builder()
+                    .fromCard(cards.get(i))
+                    .toCard(cards.get((i + 1) % OWNERS))
+                    .amount(BigDecimal.TEN)
+                    .status(TransferStatus.PENDING)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .build()));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken("owner0", null, List.of())));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getAllCards_ShouldNotSelectOwnersPerCard() {
+        Page<CardResponse> page = withMaxStatements(2, () -> cardService.getAllCards(new CardFilter(0, 10)));
+
+        assertThat(page.getContent()).hasSize(OWNERS);
+        assertThat(page.getContent()).extracting(CardResponse::getOwnerId).doesNotContainNull();
+    }
+
+    @Test
+    void findCardById_ShouldNotLoadOwner() {
+        CardResponse card = withMaxStatements(1, () -> cardService.findCardById(cards.get(0).getId()));
+
+        assertThat(card.getOwnerId()).isNotNull();
+    }
+
+    @Test
+    void findOwnCardById_ShouldCheckOwnershipInTheLookup() {
+        Card card = cards.get(0);
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(card.getOwner(), null, List.of())));
+
+        CardResponse own = withMaxStatements(1, () -> cardService.findOwnCardById(card.getId()));
+
+        assertThat(own.getId()).isEqualTo(card.getId());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatThrownBy(() -> cardService.findOwnCardById(cards.get(1).getId()))
+                .isInstanceOf(CardNotFoundException.class);
+    }
+
+    @Test
+    void blockOwnCard_ShouldLookUpAndUpdateWithoutLoadingEntities() {
+        Card card = cards.get(0);
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(card.getOwner(), null, List.of())));
+
+        CardResponse blocked = withMaxStatements(2, () -> cardService.blockOwnCard(card.getId()));
+
+        assertThat(blocked.getCardStatus()).isEqualTo(CardStatus.BLOCKED);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        testEntityManager.clear();
+        assertThat(testEntityManager.find(Card.class, card.getId()).getCardStatus()).isEqualTo(CardStatus.BLOCKED);
+    }
+
+    @Test
+    void blockOwnCard_ShouldLeaveInactiveAndForeignCardsUnchanged() {
+        Card card = cards.get(0);
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(card.getOwner(), null, List.of())));
+        Card foreign = cards.get(1);
+        testEntityManager.getEntityManager()
+                .createQuery("UPDATE Card c SET c.cardStatus = :status WHERE c.id = :id")
+                .setParameter("status", CardStatus.EXPIRED)
+                .setParameter("id", card.getId())
+                .executeUpdate();
+
+        assertThatThrownBy(() -> cardService.blockOwnCard(card.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> cardService.blockOwnCard(foreign.getId()))
+                .isInstanceOf(CardNotFoundException.class);
+
+        testEntityManager.clear();
+        assertThat(testEntityManager.find(Card.class, card.getId()).getCardStatus()).isEqualTo(CardStatus.EXPIRED);
+        assertThat(testEntityManager.find(Card.class, foreign.getId()).getCardStatus()).isEqualTo(CardStatus.ACTIVE);
+    }
+
+    @Test
+    void getBalance_ShouldReadOneProjection_ThenServeFromCache() {
+        Card card = cards.get(0);
+        SecurityContextHolder.setContext(new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(card.getOwner(), null, List.of())));
+
+        withMaxStatements(1, () -> cardService.getBalance(card.getId()));
+        BalanceResponse balance = withMaxStatements(1, () -> cardService.getBalance(card.getId()));
+
+        assertThat(balance.getBalance()).isEqualByComparingTo("1000");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void transfer_ShouldNotLoadCardsThroughTheTransfer() {
+        Card card = cards.get(0);
+        TransferResponse request = TransferResponse.builder()
+                .id(transfers.get(0).getId())
+                .fromCardId(card.getId())
+                .toCardId(card.getId())
+                .amount(BigDecimal.ONE)
+                .build();
+
+        // one card select, one transfer select, then the card and transfer updates
+        withMaxStatements(4, () -> {
+            TransferResponse result = transferService.transfer(request);
+            testEntityManager.flush();
+            return result;
+        });
+    }
+
+    @Test
+    void transferPage_ShouldMapCardIdsWithoutLoadingCards() {
+        Page<TransferResponse> page = withMaxStatements(2, () ->
+                transferRepository.findAll(PageRequest.of(0, 10)).map(transferMapper::toDto));
+
+        assertThat(page.getContent()).hasSize(OWNERS);
+        assertThat(page.getContent()).extracting(TransferResponse::getFromCardId).doesNotContainNull();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(OWNERS);
+    }
+
+    private <T> T withMaxStatements(int max, Supplier<T> call) {
+        T result = call.get();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("statements issued")
+                .isLessThanOrEqualTo(max);
+        return result;
+    }
+
+    @TestConfiguration
+    static class MetricsTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.export.ExportFormat;
+import com.example.bankcards.service.export.ExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The export reads through its own stateless session, so the fixtures are committed rather than
+ * left in the test transaction.
+ */
+@DataJpaTest(properties = "export.fetch-size=2")
+@ActiveProfiles("test")
+@Import(ExportServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportServiceImplTest {
+
+    private static final LocalDateTime EXPIRATION = LocalDateTime.of(2030, 1, 31, 12, 0);
+
+    @Autowired private ExportServiceImpl exportService;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder()
+                .username("smith, \"j\"")
+                .password("secret-hash")
+                .email("smith@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        for (int i = 0; i < 5; i++) {
+            cardRepository.save(Card.builder()
+                    .encryptedCardNumber("encrypted-" + i)
+                    .cardNumberHash("hash-" + i)
+                    .cardMask("**** **** ****000" + i)
+                    .lastFour("000" + i)
+                    .owner(owner)
+                    .cardType(CardType.VISA)
+                    .cardStatus(CardStatus.ACTIVE)
+                    .expirationDate(EXPIRATION)
+                    .isDeleted(i == 4)
+                    .balance(new BigDecimal("10.50"))
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cardRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void exportCards_ShouldWriteCsvInIdOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCards(ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(6);
+        assertThat(lines.get(0)).isEqualTo("id,cardNumber,ownerId,cardType,cardStatus,expirationDate,balance,deleted");
+        assertThat(lines.get(1)).endsWith(",**** **** ****0000," + owner.getId() + ",VISA,ACTIVE,2030-01-31T12:00,10.50,false");
+        assertThat(lines.get(5)).endsWith(",true");
+        assertThat(lines.subList(1, 6)).extracting(line -> Long.parseLong(line.split(",")[0])).isSorted();
+    }
+
+    @Test
+    void exportCards_ShouldWriteOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCards(ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(5);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("cardNumber").asText()).isEqualTo("**** **** ****0000");
+        assertThat(first.get("ownerId").asLong()).isEqualTo(owner.getId());
+        assertThat(first.get("expirationDate").asText()).isEqualTo("2030-01-31T12:00:00");
+        assertThat(first.get("balance").decimalValue()).isEqualByComparingTo("10.50");
+    }
+
+    @Test
+    void exportUsers_ShouldQuoteCsvFields_AndLeaveOutPasswords() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportUsers(ExportFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertThat(csv).startsWith("id,username,email,role,banned,createdAt,updatedAt\r\n")
+                .contains(owner.getId() + ",\"smith, \"\"j\"\"\",smith@example.com,USER,false,")
+                .doesNotContain("secret-hash");
+    }
+
+    @Test
+    void exportUsers_ShouldEscapeCsvFieldsThatStartLikeFormulas() throws IOException {
+        User attacker = userRepository.save(User.builder()
+                .username("=HYPERLINK(\"http://evil.example\",\"open\")")
+                .password("secret-hash")
+                .email("-1+1@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportUsers(ExportFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .contains(attacker.getId() + ",\"'=HYPERLINK(\"\"http://evil.example\"\",\"\"open\"\")\",'-1+1@example.com,USER,");
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.config.JwtKeyRingConfig;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.service.jwt.JwtKeyRing;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.VerifiedToken;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtProviderTest {
+
+    private static final String ACCESS_SECRET = "zB5T+mVhzCIphUyw+Vq8mtjC3cJJp2JT5YLXPWDmSic=";
+    private static final String REFRESH_SECRET = "VSIJ0hqPoYtyowib53ucqCUL1nB8QBz9Moc/gRaQ28k=";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtProvider jwtProvider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = provider(jwtConfig(ACCESS_SECRET), new JwtKeyRingConfig());
+
+        user = User.builder()
+                .id(1L)
+                .username("tester")
+                .role(Role.USER)
+                .isBanned(false)
+                .build();
+    }
+
+    @Test
+    void verify_ShouldReturnSubjectAuthoritiesAndExpiry_WhenTokenIsValid() {
+        String token = jwtProvider.generateAccessToken(user);
+
+        Optional<VerifiedToken> result = jwtProvider.verify(token);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getSubject()).isEqualTo("tester");
+        assertThat(result.get().getUserId()).isEqualTo(1L);
+        assertThat(result.get().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("USER");
+        assertThat(result.get().getExpiration()).isAfter(Instant.now());
+    }
+
+    @Test
+    void verify_ShouldReturnEmpty_WhenTokenIsTampered() {
+        String token = jwtProvider.generateAccessToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtProvider.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    void verify_ShouldReturnEmpty_WhenSignedWithAnotherKey() {
+        JwtProvider otherProvider = provider(jwtConfig(REFRESH_SECRET), new JwtKeyRingConfig());
+        String token = otherProvider.generateAccessToken(user);
+
+        assertThat(jwtProvider.verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_ShouldReturnEmpty_WhenTokenIsMalformed() {
+        assertThat(jwtProvider.verify("not-a-jwt")).isEmpty();
+        assertThat(jwtProvider.verify("")).isEmpty();
+    }
+
+    @Test
+    void verify_ShouldCountFailuresByCause() {
+        JwtConfig expiredConfig = jwtConfig(ACCESS_SECRET);
+        expiredConfig.setAccess_expiration(-60);
+        String expired = provider(expiredConfig, new JwtKeyRingConfig()).generateAccessToken(user);
+        String token = jwtProvider.generateAccessToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        jwtProvider.verify(expired);
+        jwtProvider.verify(tampered);
+        jwtProvider.verify("not-a-jwt");
+
+        assertThat(meterRegistry.get("jwt.validation.failures").tag("cause", "expired").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.validation.failures").tag("cause", "bad_signature").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.validation.failures").tag("cause", "malformed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_ShouldAcceptPreviousKey_WhenActiveKeyIsRotated() {
+        KeyPair first = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        KeyPair second = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtProvider before = provider(jwtConfig(ACCESS_SECRET), keyRing("es-1", ecKey("es-1", first, true)));
+        JwtProvider after = provider(jwtConfig(ACCESS_SECRET),
+                keyRing("es-2", ecKey("es-1", first, false), ecKey("es-2", second, true)));
+
+        String oldToken = before.generateAccessToken(user);
+        String newToken = after.generateAccessToken(user);
+
+        assertThat(after.verify(oldToken)).isPresent();
+        assertThat(after.verify(newToken)).isPresent();
+        assertThat(before.verify(newToken)).isEmpty();
+    }
+
+    @Test
+    void verify_ShouldAcceptLegacyToken_WhenKeyRingIsActive() {
+        String legacyToken = jwtProvider.generateAccessToken(user);
+        JwtKeyRingConfig keyRingConfig = keyRing("es-1", ecKey("es-1", Keys.keyPairFor(SignatureAlgorithm.ES256), true));
+        keyRingConfig.setLegacyAcceptedUntil(Instant.now().plusSeconds(3600));
+        JwtProvider rotated = provider(jwtConfig(ACCESS_SECRET), keyRingConfig);
+
+        assertThat(rotated.verify(legacyToken)).isPresent();
+    }
+
+    @Test
+    void verify_ShouldRejectLegacyToken_WhenLegacyCutoffHasPassed() {
+        String legacyToken = jwtProvider.generateAccessToken(user);
+        JwtKeyRingConfig keyRingConfig = keyRing("es-1", ecKey("es-1", Keys.keyPairFor(SignatureAlgorithm.ES256), true));
+        keyRingConfig.setLegacyAcceptedUntil(Instant.now().minusSeconds(1));
+        JwtProvider rotated = provider(jwtConfig(ACCESS_SECRET), keyRingConfig);
+
+        assertThat(rotated.verify(legacyToken)).isEmpty();
+        assertThat(meterRegistry.counter("jwt.validation.failures", "cause", "bad_signature").count()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_ShouldRejectLegacyToken_WhenNoLegacyCutoffIsConfigured() {
+        String legacyToken = jwtProvider.generateAccessToken(user);
+        JwtProvider rotated = provider(jwtConfig(ACCESS_SECRET),
+                keyRing("es-1", ecKey("es-1", Keys.keyPairFor(SignatureAlgorithm.ES256), true)));
+
+        assertThat(rotated.verify(legacyToken)).isEmpty();
+    }
+
+    @Test
+    void getJwks_ShouldPublishOnlyEcPublicKeys() {
+        JwtKeyRingConfig.Key hmac = new JwtKeyRingConfig.Key();
+        hmac.setKid("hs-1");
+        hmac.setSecret(ACCESS_SECRET);
+        JwtKeyRing keyRing = new JwtKeyRing(jwtConfig(ACCESS_SECRET),
+                keyRing("es-1", hmac, ecKey("es-1", Keys.keyPairFor(SignatureAlgorithm.ES256), true)));
+
+        List<Map<String, Object>> jwks = keyRing.getJwks();
+
+        assertThat(jwks).hasSize(1);
+        assertThat(jwks.get(0))
+                .containsEntry("kid", "es-1")
+                .containsEntry("kty", "EC")
+                .containsEntry("alg", "ES256")
+                .doesNotContainKey("d");
+        assertThat(Base64.getUrlDecoder().decode((String) jwks.get(0).get("x"))).hasSize(32);
+    }
+
+    private JwtProvider provider(JwtConfig jwtConfig, JwtKeyRingConfig keyRingConfig) {
+        JwtProvider provider = new JwtProvider(jwtConfig, new JwtKeyRing(jwtConfig, keyRingConfig), meterRegistry);
+        provider.init();
+        return provider;
+    }
+
+    private static JwtKeyRingConfig keyRing(String activeKid, JwtKeyRingConfig.Key... keys) {
+        JwtKeyRingConfig config = new JwtKeyRingConfig();
+        config.setActiveKid(activeKid);
+        config.setKeys(List.of(keys));
+        return config;
+    }
+
+    private static JwtKeyRingConfig.Key ecKey(String kid, KeyPair keyPair, boolean withPrivateKey) {
+        JwtKeyRingConfig.Key key = new JwtKeyRingConfig.Key();
+        key.setKid(kid);
+        key.setAlgorithm("ES256");
+        key.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+        if (withPrivateKey) {
+            key.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+        }
+        return key;
+    }
+
+    private static JwtConfig jwtConfig(String accessSecret) {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setAccess_secret(accessSecret);
+        jwtConfig.setRefresh_secret(REFRESH_SECRET);
+        jwtConfig.setAccess_expiration(3600);
+        jwtConfig.setRefresh_expiration(3600);
+        return jwtConfig;
+    }
+}
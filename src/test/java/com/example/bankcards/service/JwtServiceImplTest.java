@@ -0,0 +1,133 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.config.JwtConfig;
+import com.example.bankcards.dto.response.TokenResponse;
+import com.example.bankcards.entity.Token;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.exception.InvalidTokenException;
+import com.example.bankcards.repository.TokenRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.jwt.JwtProvider;
+import com.example.bankcards.service.jwt.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtProvider jwtProvider;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Spy
+    private JwtConfig jwtConfig = new JwtConfig();
+
+    @InjectMocks
+    private JwtServiceImpl jwtService;
+
+    private User user;
+    private Token storedToken;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfig.setRefresh_expiration(3600);
+        user = User.builder()
+                .id(1L)
+                .username("tester")
+                .role(Role.USER)
+                .isBanned(false)
+                .build();
+        storedToken = Token.builder()
+                .id(10L)
+                .familyId(UUID.randomUUID())
+                .userId(1L)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+
+    @Test
+    void generateToken_ShouldStoreHashedRefreshToken_WithoutUserLookup() {
+        when(jwtProvider.generateAccessToken(user)).thenReturn("access");
+        when(jwtProvider.generateRefreshToken(user)).thenReturn("refresh");
+
+        TokenResponse result = jwtService.generateToken(user);
+
+        ArgumentCaptor<Token> tokenCaptor = ArgumentCaptor.forClass(Token.class);
+        verify(tokenRepository).save(tokenCaptor.capture());
+        assertThat(tokenCaptor.getValue().getTokenHash()).hasSize(64).isNotEqualTo("refresh");
+        assertThat(tokenCaptor.getValue().getUserId()).isEqualTo(1L);
+        assertThat(result.getRefreshToken()).isEqualTo("refresh");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void regenerateToken_ShouldRotateWithinSameFamily() {
+        when(jwtProvider.verifyRefreshToken("old")).thenReturn(Optional.of(mock(Claims.class)));
+        when(tokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(storedToken));
+        when(tokenRepository.markUsed(10L)).thenReturn(1);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(jwtProvider.generateAccessToken(user)).thenReturn("access");
+        when(jwtProvider.generateRefreshToken(user)).thenReturn("new");
+
+        TokenResponse result = jwtService.regenerateToken("old");
+
+        ArgumentCaptor<Token> tokenCaptor = ArgumentCaptor.forClass(Token.class);
+        verify(tokenRepository).save(tokenCaptor.capture());
+        assertThat(tokenCaptor.getValue().getFamilyId()).isEqualTo(storedToken.getFamilyId());
+        assertThat(result.getRefreshToken()).isEqualTo("new");
+    }
+
+    @Test
+    void regenerateToken_ShouldRevokeFamily_WhenTokenIsReused() {
+        when(jwtProvider.verifyRefreshToken("old")).thenReturn(Optional.of(mock(Claims.class)));
+        when(tokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(storedToken));
+        when(tokenRepository.markUsed(10L)).thenReturn(0);
+
+        assertThatThrownBy(() -> jwtService.regenerateToken("old"))
+                .isInstanceOf(InvalidTokenException.class);
+
+        verify(tokenRepository).revokeFamily(storedToken.getFamilyId());
+        verify(tokenRepository, never()).save(any());
+    }
+
+    @Test
+    void regenerateToken_ShouldThrow_WhenTokenIsUnknown() {
+        when(jwtProvider.verifyRefreshToken("old")).thenReturn(Optional.of(mock(Claims.class)));
+        when(tokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> jwtService.regenerateToken("old"))
+                .isInstanceOf(InvalidTokenException.class);
+    }
+
+    @Test
+    void regenerateToken_ShouldThrow_WhenSignatureIsInvalid() {
+        when(jwtProvider.verifyRefreshToken("old")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> jwtService.regenerateToken("old"))
+                .isInstanceOf(InvalidTokenException.class);
+        verifyNoInteractions(tokenRepository);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.response.CardResponse;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.entity.enums.Role;
+import com.example.bankcards.repository.CardRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class OwnCardsQueryTest {
+
+    @Autowired private CardRepository cardRepository;
+    @Autowired private TestEntityManager testEntityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        owner = testEntityManager.persist(user("owner"));
+        User other = testEntityManager.persist(user("other"));
+        testEntityManager.persist(card(owner, "0001", false));
+        testEntityManager.persist(card(owner, "0002", false));
+        testEntityManager.persist(card(owner, "0003", true));
+        testEntityManager.persist(card(other, "0004", false));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findOwnCardsAfter_ShouldReadOwnActiveCardsInOneQuery_WithoutLoadingEntities() {
+        List<CardResponse> cards = cardRepository.findOwnCardsAfter(owner.getId(), 0L, Limit.of(10));
+
+        assertThat(cards).extracting(CardResponse::getCardNumber)
+                .containsExactly("**** **** ****0001", "**** **** ****0002");
+        assertThat(cards).allSatisfy(card -> {
+            assertThat(card.getOwnerId()).isEqualTo(owner.getId());
+            assertThat(card.getCardTypeCode()).isEqualTo(CardType.VISA.getTypeCode());
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findOwnCards_ShouldPageWithoutLoadingEntities() {
+        Page<CardResponse> page = cardRepository.findOwnCards(owner.getId(), PageRequest.of(0, 1));
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .password("password")
+                .email(username + "@example.com")
+                .role(Role.USER)
+                .isBanned(false)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static Card card(User owner, String last4, boolean deleted) {
+        return Card.builder()
+                .encryptedCardNumber("encrypted-" + last4)
+                .cardNumberHash("hash-" + last4)
+                .cardMask("**** **** ****" + last4)
+                .lastFour(last4)
+                .owner(owner)
+                .cardType(CardType.VISA)
+                .cardStatus(CardStatus.ACTIVE)
+                .expirationDate(LocalDateTime.now().plusYears(5))
+                .isDeleted(deleted)
+                .balance(BigDecimal.ZERO)
+                .build();
+    }
+}
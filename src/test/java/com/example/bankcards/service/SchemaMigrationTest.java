@@ -0,0 +1,160 @@
+package com.example.bankcards.service;
+
+import com.example.bankcards.dto.EncryptedCardNumber;
+import com.example.bankcards.entity.Card;
+import com.example.bankcards.entity.Token;
+import com.example.bankcards.entity.User;
+import com.example.bankcards.entity.enums.CardStatus;
+import com.example.bankcards.entity.enums.CardType;
+import com.example.bankcards.repository.CardRepository;
+import com.example.bankcards.repository.TokenRepository;
+import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.card.BinRangeRegistry;
+import com.example.bankcards.service.card.CardNumberAllocator;
+import com.example.bankcards.service.card.CardNumberBackfillJob;
+import com.example.bankcards.service.card.CardNumberCipher;
+import com.example.bankcards.service.card.CardNumberGenerate;
+import com.example.bankcards.util.CardNumberCodec;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts from a database laid out and filled the way the first release left it, without Flyway
+ * history, and checks that the application's Flyway baselines it and migrates it to a schema the
+ * entities validate against, that the startup backfill fixes the legacy cards, and that new rows
+ * can be inserted.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "cards.number-backfill.batch-size=2"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@Import({CardNumberBackfillJob.class, CardNumberCipher.class, CardNumberAllocator.class, CardNumberGenerate.class,
+        BinRangeRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaMigrationTest {
+
+    private static final String DUPLICATE_NUMBER = CardNumberCodec.compose("411111000001", 0, 3);
+    private static final String MASTERCARD_NUMBER = CardNumberCodec.compose("511111000002", 4, 3);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired private CardNumberBackfillJob backfillJob;
+    @Autowired private CardNumberCipher cardNumberCipher;
+    @Autowired private CardRepository cardRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TokenRepository tokenRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @BeforeAll
+    static void createFirstReleaseDatabase() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+            statement.execute("""
+                    INSERT INTO users (username, password, email, role, is_banned, created_at, updated_at)
+                    VALUES ('first', 'password', 'first@example.com', 'USER', false, now(), now()),
+                           ('second', 'password', 'second@example.com', 'USER', false, now(), now())""");
+            statement.execute("""
+                    INSERT INTO cards (number, owner_id, status, expiration, type, deleted, balance)
+                    VALUES ('%s', 1, 'ACTIVE', now() + interval '3 years', 'VISA', false, 100.00),
+                           ('%s', 1, 'ACTIVE', now() + interval '3 years', 'VISA', false, 50.00),
+                           ('%s', 2, 'BLOCKED', now() + interval '3 years', 'MASTERCARD', false, 0.00)"""
+                    .formatted(DUPLICATE_NUMBER, DUPLICATE_NUMBER, MASTERCARD_NUMBER));
+            statement.execute("""
+                    INSERT INTO transfers (from_card_id, to_card_id, amount, status, created_at, updated_at)
+                    VALUES (1, 2, 10.00, 'COMPLETED', now(), now())""");
+            statement.execute("INSERT INTO tokens (username, refresh_token) VALUES ('first', 'legacy-refresh-token')");
+        }
+    }
+
+    @Test
+    void migrate_ShouldUpgradeFirstReleaseDatabaseToUsableSchema() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertThat(versions).startsWith("1").contains("4", "5", "6", "10", "11", "12", "13", "14");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tokens", Integer.class)).isZero();
+
+        // The backfill runs once the application is ready and has already encrypted and reissued the legacy cards.
+        assertThat(backfillJob.backfill()).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards WHERE number IS NOT NULL", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card_number_reissues", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards WHERE number_hash IS NULL", Integer.class))
+                .isZero();
+        Card kept = cardRepository.findById(1L).orElseThrow();
+        assertThat(cardNumberCipher.decrypt(kept.getEncryptedCardNumber())).isEqualTo(DUPLICATE_NUMBER);
+        Card reissued = cardRepository.findById(2L).orElseThrow();
+        assertThat(cardNumberCipher.decrypt(reissued.getEncryptedCardNumber()))
+                .isNotEqualTo(DUPLICATE_NUMBER)
+                .startsWith("411111");
+        // V12 moved the high-water mark of owner part 000001 onto the BIN, so the reissue lands above every old number.
+        assertThat(cardNumberCipher.decrypt(reissued.getEncryptedCardNumber()).substring(6, 15))
+                .isGreaterThan(DUPLICATE_NUMBER.substring(6, 15));
+        assertThat(jdbcTemplate.queryForList("SELECT block_key FROM card_number_blocks", String.class))
+                .containsExactlyInAnyOrder("411111", "511111");
+        assertThat(reissued.getBalance()).isEqualByComparingTo("50.00");
+
+        User owner = userRepository.findById(1L).orElseThrow();
+        String number = CardNumberCodec.compose("411111000001", 500, 3);
+        EncryptedCardNumber encrypted = cardNumberCipher.encrypt(number);
+        Card created = cardRepository.saveAndFlush(Card.builder()
+                .encryptedCardNumber(encrypted.getEncryptedCardNumber())
+                .cardNumberHash(encrypted.getCardNumberHash())
+                .cardMask(encrypted.getCardMask())
+                .lastFour(number.substring(number.length() - CardNumberCodec.VISIBLE_DIGITS))
+                .owner(owner)
+                .cardStatus(CardStatus.ACTIVE)
+                .expirationDate(LocalDateTime.now().plusYears(3))
+                .cardType(CardType.VISA)
+                .balance(BigDecimal.ZERO)
+                .build());
+        assertThat(created.getId()).isGreaterThan(3L);
+
+        tokenRepository.save(Token.builder()
+                .tokenHash("a".repeat(64))
+                .familyId(UUID.randomUUID())
+                .userId(owner.getId())
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+        assertThat(tokenRepository.count()).isEqualTo(1);
+    }
+}
@@ -10,14 +10,17 @@ import com.example.bankcards.entity.enums.TransferStatus;
 import com.example.bankcards.exception.TransferException;
 import com.example.bankcards.repository.CardRepository;
 import com.example.bankcards.repository.TransferRepository;
+import com.example.bankcards.service.card.CardBalanceChangedEvent;
 import com.example.bankcards.service.transfer.TransferServiceImpl;
 import com.example.bankcards.util.mapper.TransferMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.Optional;
@@ -35,6 +38,8 @@ class TransferServiceImplTest {
     private CardRepository cardRepository;
     @Mock
     private TransferMapper transferMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TransferServiceImpl transferService;
@@ -104,6 +109,7 @@ class TransferServiceImplTest {
         transfer.setStatus(TransferStatus.PENDING);
         given(transferMapper.toEntity(transferResponse)).willReturn(transfer);
         given(cardRepository.findById(fromCard.getId())).willReturn(Optional.of(fromCard));
+        given(cardRepository.save(fromCard)).willReturn(fromCard);
         given(transferRepository.save(any())).willReturn(transfer);
 
         // when
@@ -112,6 +118,9 @@ class TransferServiceImplTest {
         // then
         assertThat(fromCard.getBalance()).isEqualByComparingTo("1200");
         verify(cardRepository).save(fromCard);
+        ArgumentCaptor<CardBalanceChangedEvent> event = ArgumentCaptor.forClass(CardBalanceChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getCard()).isSameAs(fromCard);
         verify(transferRepository).save(transfer);
         assertThat(transfer.getStatus()).isEqualTo(TransferStatus.FAILED);
     }
@@ -5,6 +5,8 @@ import com.example.bankcards.dto.response.UserResponse;
 import com.example.bankcards.entity.User;
 import com.example.bankcards.exception.UserNotFoundException;
 import com.example.bankcards.repository.UserRepository;
+import com.example.bankcards.service.user.UserAccessRevokedEvent;
+import com.example.bankcards.service.user.UserDetailsCache;
 import com.example.bankcards.service.user.UserServiceImpl;
 import com.example.bankcards.util.mapper.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +14,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +33,12 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(1_000_000, Duration.ofMinutes(5));
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -66,6 +76,29 @@ class UserServiceImplTest {
                 .hasMessageContaining("unknown");
     }
 
+    @Test
+    void loadUserByUsername_ShouldQueryOnce_WhenUserIsCached() {
+        when(userRepository.findByUsername("tester")).thenReturn(Optional.of(user));
+
+        userService.loadUserByUsername("tester");
+        var result = userService.loadUserByUsername("tester");
+
+        assertThat(result).isEqualTo(user);
+        verify(userRepository, times(1)).findByUsername("tester");
+        assertThat(userDetailsCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadUserByUsername_ShouldQueryAgain_WhenCachedUserWasRevoked() {
+        when(userRepository.findByUsername("tester")).thenReturn(Optional.of(user));
+
+        userService.loadUserByUsername("tester");
+        userDetailsCache.onUserAccessRevoked(new UserAccessRevokedEvent("tester"));
+        userService.loadUserByUsername("tester");
+
+        verify(userRepository, times(2)).findByUsername("tester");
+    }
+
     @Test
     void existsByUsername_ShouldReturnTrue_WhenExists() {
         when(userRepository.existsByUsername("tester")).thenReturn(true);
@@ -106,6 +139,17 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    void deleteUser_ShouldRevokeAccess_WhenUserExists() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userService.deleteUser(1L);
+
+        ArgumentCaptor<UserAccessRevokedEvent> eventCaptor = ArgumentCaptor.forClass(UserAccessRevokedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getUsername()).isEqualTo("tester");
+    }
+
     @Test
     void banUserByIds_ShouldBanUser() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
@@ -114,6 +158,7 @@ class UserServiceImplTest {
 
         assertThat(user.getIsBanned()).isTrue();
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(any(UserAccessRevokedEvent.class));
     }
 
     @Test
@@ -129,6 +174,18 @@ class UserServiceImplTest {
         assertThat(result.getTotalElements()).isEqualTo(1);
     }
 
+    @Test
+    void getAllUsersByCursor_ShouldStartFromFirstId_WhenCursorIsEmpty() {
+        when(userRepository.findPageAfter(0L, Limit.of(11))).thenReturn(List.of(user));
+        when(userMapper.toDto(user)).thenReturn(userResponse);
+
+        var result = userService.getAllUsersByCursor(new UserFilter(null, 10, ""));
+
+        assertThat(result.getContent()).containsExactly(userResponse);
+        assertThat(result.getNextCursor()).isNull();
+        verify(userRepository, never()).count();
+    }
+
     @Test
     void findById_ShouldReturnUser_WhenExists() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
@@ -0,0 +1,41 @@
+package com.example.bankcards.service.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Connects several simulated nodes in one test: each {@link #node()} is an
+ * {@link InvalidationChannel} whose payloads reach the subscribers of every other node.
+ */
+public class SharedInvalidationBus {
+
+    private final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+    public InvalidationChannel node() {
+        Node node = new Node();
+        nodes.add(node);
+        return node;
+    }
+
+    private final class Node implements InvalidationChannel {
+
+        private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+        @Override
+        public void publish(String topic, String payload) {
+            for (Node node : nodes) {
+                if (node != this) {
+                    node.listeners.getOrDefault(topic, List.of()).forEach(listener -> listener.accept(payload));
+                }
+            }
+        }
+
+        @Override
+        public void subscribe(String topic, Consumer<String> listener) {
+            listeners.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bankcards.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CardNumberCodecTest {
+
+    @Test
+    void luhnCheckDigit_ShouldMatchKnownNumbers() {
+        assertThat(CardNumberCodec.luhnCheckDigit("411111111111111")).isEqualTo(1);
+        assertThat(CardNumberCodec.luhnCheckDigit("555555555555444")).isEqualTo(4);
+        assertThat(CardNumberCodec.luhnCheckDigit("7992739871")).isEqualTo(3);
+    }
+
+    @Test
+    void isLuhnValid_ShouldRejectNumber_WhenCheckDigitIsWrong() {
+        assertThat(CardNumberCodec.isLuhnValid("4111111111111111")).isTrue();
+        assertThat(CardNumberCodec.isLuhnValid("4111111111111112")).isFalse();
+        assertThat(CardNumberCodec.isLuhnValid("4")).isFalse();
+    }
+
+    @Test
+    void compose_ShouldZeroPadValueAndAppendCheckDigit() {
+        String number = CardNumberCodec.compose("411111000042", 7, 3);
+
+        assertThat(number).isEqualTo("4111110000420070");
+        assertThat(CardNumberCodec.isLuhnValid(number)).isTrue();
+    }
+
+    @Test
+    void zeroPad_ShouldKeepLowestDigits_WhenValueIsTooLong() {
+        assertThat(CardNumberCodec.zeroPad(42, 6)).isEqualTo("000042");
+        assertThat(CardNumberCodec.zeroPad(1_234_567, 6)).isEqualTo("234567");
+        assertThatThrownBy(() -> CardNumberCodec.zeroPad(-1, 6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void mask_ShouldHideAllButLastFourDigits() {
+        assertThat(CardNumberCodec.mask("4111111111111111")).isEqualTo("**** **** ****1111");
+        assertThat(CardNumberCodec.mask("4111111111111111111")).isEqualTo("**** **** **** ***1111");
+        assertThat(CardNumberCodec.mask("1111")).isEqualTo("1111");
+        assertThat(CardNumberCodec.mask(null)).isNull();
+    }
+
+    @Test
+    void bin_ShouldReturnFirstSixDigits() {
+        assertThat(CardNumberCodec.bin("5555551234567890")).isEqualTo("555555");
+        assertThatThrownBy(() -> CardNumberCodec.bin("55555"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}